@@ -0,0 +1,61 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Instant;
+
+/**
+ * Domain event whose publication failed after all the attempts allowed by its retry policy.
+ */
+public final class DeadLetter {
+
+    private final DomainEvent event;
+    private final Throwable failure;
+    private final int attempts;
+    private final Instant failedAt;
+
+    /**
+     * Creates a dead letter.
+     *
+     * @param event The domain event that could not be published
+     * @param failure The failure of the last attempt
+     * @param attempts The number of attempts made
+     * @param failedAt The instant of the last attempt
+     */
+    public DeadLetter(DomainEvent event, Throwable failure, int attempts, Instant failedAt) {
+        this.event = event;
+        this.failure = failure;
+        this.attempts = attempts;
+        this.failedAt = failedAt;
+    }
+
+    /**
+     * Returns the domain event that could not be published.
+     * @return The domain event
+     */
+    public DomainEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the failure of the last attempt.
+     * @return The failure
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the number of attempts made.
+     * @return The number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the instant of the last attempt.
+     * @return The instant of the last attempt
+     */
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.codingbetter.domain.shared.event;
+
+import java.util.List;
+
+/**
+ * Interface for storing domain events whose publication failed permanently,
+ * so that they can be inspected and replayed later.
+ */
+public interface DeadLetterStore {
+
+    /**
+     * Stores a dead letter.
+     * @param deadLetter The dead letter to be stored
+     */
+    void add(DeadLetter deadLetter);
+
+    /**
+     * Removes and returns every stored dead letter, oldest first.
+     * @return The stored dead letters
+     */
+    List<DeadLetter> drainAll();
+
+    /**
+     * Returns the number of stored dead letters.
+     * @return The number of dead letters
+     */
+    int size();
+}
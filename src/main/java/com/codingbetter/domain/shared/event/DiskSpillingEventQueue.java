@@ -0,0 +1,465 @@
+package com.codingbetter.domain.shared.event;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FIFO queue of domain events with a bounded in-memory segment that overflows to disk.
+ * While the in-memory segment is full, new events are serialized and appended sequentially
+ * to segment files; they are read back, in order and in chunks, as the consumer catches up.
+ * Fully read segment files are deleted. Spilled events are kept only for the lifetime of the queue:
+ * the segment files are deleted on close.
+ * Spill and read-back counters are exposed so that their rates can be monitored.
+ */
+public class DiskSpillingEventQueue implements AutoCloseable {
+
+    private static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES;
+
+    private final int memoryCapacity;
+    private final long segmentBytes;
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<DomainEvent> memory = new ArrayDeque<>();
+    private final ArrayDeque<Path> segments = new ArrayDeque<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+
+    private FileChannel writeChannel;
+    private long writeSegmentSize;
+    private DataInputStream reader;
+    private long nextSegmentId;
+    private long diskCount;
+    private long spilledEventCount;
+    private long spilledBytes;
+    private long readBackEventCount;
+    private long readBackBytes;
+    private boolean closed;
+
+    /**
+     * Creates a queue with 64 MB segment files.
+     *
+     * @param memoryCapacity The maximum number of events kept in memory
+     * @param directory The directory in which segment files are created
+     */
+    public DiskSpillingEventQueue(int memoryCapacity, Path directory) {
+        this(memoryCapacity, directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param memoryCapacity The maximum number of events kept in memory
+     * @param directory The directory in which segment files are created
+     * @param segmentBytes The size from which a new segment file is started
+     */
+    public DiskSpillingEventQueue(int memoryCapacity, Path directory, long segmentBytes) {
+        if (memoryCapacity <= 0) {
+            throw new IllegalArgumentException("Memory capacity must be positive");
+        }
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        Objects.requireNonNull(directory, "Directory must not be null");
+        this.memoryCapacity = memoryCapacity;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(directory);
+            this.directory = Files.createTempDirectory(directory, "event-queue-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the spill directory", e);
+        }
+    }
+
+    /**
+     * Appends an event to the queue, spilling it to disk if the in-memory segment is full
+     * or older events are already on disk.
+     *
+     * @param event The domain event to be queued
+     * @throws IllegalStateException if the queue has been closed
+     * @throws UncheckedIOException if the event cannot be written to disk
+     */
+    public void offer(DomainEvent event) {
+        Objects.requireNonNull(event, "Event must not be null");
+        lock.lock();
+        try {
+            ensureOpen();
+            if (diskCount == 0 && memory.size() < memoryCapacity) {
+                memory.offerLast(event);
+            } else {
+                spill(event);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the oldest event of the queue.
+     * @return The oldest event, or null if the queue is empty
+     * @throws UncheckedIOException if spilled events cannot be read back
+     */
+    public DomainEvent poll() {
+        lock.lock();
+        try {
+            ensureOpen();
+            refillIfEmpty();
+            return memory.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the oldest event of the queue, waiting for one to be offered if necessary.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return The oldest event, or null if none was offered in time
+     * @throws InterruptedException if interrupted while waiting
+     * @throws UncheckedIOException if spilled events cannot be read back
+     */
+    public DomainEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            ensureOpen();
+            while (memory.isEmpty() && diskCount == 0) {
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+                ensureOpen();
+            }
+            refillIfEmpty();
+            return memory.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes up to {@code maxEvents} of the oldest events as one batch and removes them from the queue.
+     * The events are only removed once the publisher returns; if it throws, they stay in the queue
+     * and the exception is propagated. Intended for a single consumer.
+     *
+     * @param publisher The publisher that receives the events
+     * @param maxEvents The maximum number of events to be published
+     * @return The number of published events
+     * @throws UncheckedIOException if spilled events cannot be read back
+     */
+    public int drainTo(DomainEventPublisher publisher, int maxEvents) {
+        List<DomainEvent> batch;
+        lock.lock();
+        try {
+            ensureOpen();
+            refillIfEmpty();
+            batch = new ArrayList<>(Math.min(maxEvents, memory.size()));
+            Iterator<DomainEvent> iterator = memory.iterator();
+            while (batch.size() < maxEvents && iterator.hasNext()) {
+                batch.add(iterator.next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        publisher.publishAll(batch);
+
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                memory.pollFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return batch.size();
+    }
+
+    /**
+     * Returns the number of queued events, in memory and on disk.
+     * @return The number of queued events
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return memory.size() + diskCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of queued events that are on disk.
+     * @return The number of spilled events not yet read back
+     */
+    public long getDiskEventCount() {
+        lock.lock();
+        try {
+            return diskCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of events spilled to disk since the queue was created.
+     * @return The number of spilled events
+     */
+    public long getSpilledEventCount() {
+        lock.lock();
+        try {
+            return spilledEventCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of bytes spilled to disk since the queue was created.
+     * @return The number of spilled bytes
+     */
+    public long getSpilledBytes() {
+        lock.lock();
+        try {
+            return spilledBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of events read back from disk since the queue was created.
+     * @return The number of events read back
+     */
+    public long getReadBackEventCount() {
+        lock.lock();
+        try {
+            return readBackEventCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of bytes read back from disk since the queue was created.
+     * @return The number of bytes read back
+     */
+    public long getReadBackBytes() {
+        lock.lock();
+        try {
+            return readBackBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the queue and deletes its segment files. Queued events are discarded.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            memory.clear();
+            deleteSegments();
+            Files.deleteIfExists(directory);
+            notEmpty.signalAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete the spill directory", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+    }
+
+    private void spill(DomainEvent event) {
+        byte[] payload = serialize(event);
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        try {
+            if (writeChannel == null || (writeSegmentSize > 0 && writeSegmentSize + recordBytes > segmentBytes)) {
+                startSegment();
+            }
+            // A record is only framed once it can be written whole, so that a failed spill leaves the segment consistent
+            if (writeBuffer.remaining() < recordBytes) {
+                flushWriteBuffer();
+            }
+            if (recordBytes <= writeBuffer.capacity()) {
+                writeBuffer.putInt(payload.length).put(payload);
+            } else {
+                writeLargeRecord(payload);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill event to disk", e);
+        }
+        writeSegmentSize += recordBytes;
+        diskCount++;
+        spilledEventCount++;
+        spilledBytes += recordBytes;
+    }
+
+    private void startSegment() throws IOException {
+        if (writeChannel != null) {
+            flushWriteBuffer();
+            writeChannel.close();
+        }
+        Path segment = directory.resolve(String.format("segment-%020d.log", nextSegmentId++));
+        writeChannel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writeSegmentSize = 0;
+        segments.offerLast(segment);
+    }
+
+    private void writeLargeRecord(byte[] payload) throws IOException {
+        long start = writeChannel.position();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES).putInt(0, payload.length);
+        ByteBuffer body = ByteBuffer.wrap(payload);
+        try {
+            while (header.hasRemaining() || body.hasRemaining()) {
+                writeChannel.write(new ByteBuffer[] {header, body});
+            }
+        } catch (IOException e) {
+            // Removes the partially written record
+            try {
+                writeChannel.truncate(start);
+                writeChannel.position(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void flushWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                writeChannel.write(writeBuffer);
+            }
+        } finally {
+            // Keeps the bytes not written yet, if any, for the next flush
+            writeBuffer.compact();
+        }
+    }
+
+    private void refillIfEmpty() {
+        if (!memory.isEmpty() || diskCount == 0) {
+            return;
+        }
+        try {
+            if (writeChannel != null && writeBuffer.position() > 0) {
+                flushWriteBuffer();
+            }
+            while (memory.size() < memoryCapacity && diskCount > 0) {
+                memory.offerLast(readRecord());
+                diskCount--;
+                readBackEventCount++;
+            }
+            if (diskCount == 0) {
+                deleteSegments();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read spilled events from disk", e);
+        }
+    }
+
+    private DomainEvent readRecord() throws IOException {
+        for (;;) {
+            if (reader == null) {
+                reader = new DataInputStream(new BufferedInputStream(
+                        Channels.newInputStream(FileChannel.open(segments.peekFirst(), StandardOpenOption.READ)),
+                        IO_BUFFER_BYTES));
+            }
+            int length = readLength();
+            if (length < 0) {
+                // End of a fully read segment: move on to the next one
+                reader.close();
+                reader = null;
+                Files.deleteIfExists(segments.pollFirst());
+                continue;
+            }
+            byte[] payload = new byte[length];
+            reader.readFully(payload);
+            readBackBytes += RECORD_HEADER_BYTES + length;
+            return deserialize(payload);
+        }
+    }
+
+    private int readLength() throws IOException {
+        int first = reader.read();
+        if (first < 0) {
+            return -1;
+        }
+        return (first << 24) | (reader.readUnsignedByte() << 16) | (reader.readUnsignedByte() << 8)
+                | reader.readUnsignedByte();
+    }
+
+    private void deleteSegments() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        if (writeChannel != null) {
+            writeChannel.close();
+            writeChannel = null;
+        }
+        writeBuffer.clear();
+        writeSegmentSize = 0;
+        diskCount = 0;
+        Path segment;
+        while ((segment = segments.pollFirst()) != null) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private static byte[] serialize(DomainEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize event " + event.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DomainEvent deserialize(byte[] payload) throws IOException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (DomainEvent) input.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not deserialize spilled event", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.codingbetter.domain.shared.event;
 
+import java.util.List;
+
 /**
  * Interface para publicação de eventos de domínio.
  * Responsável por publicar eventos de domínio para que possam ser
@@ -12,4 +14,16 @@ public interface DomainEventPublisher {
      * @param event O evento de domínio a ser publicado
      */
     void publish(DomainEvent event);
-} 
\ No newline at end of file
+
+    /**
+     * Publica um lote de eventos de domínio, na ordem da lista.
+     * A implementação padrão publica os eventos um a um; implementações
+     * que suportam envio em lote podem sobrescrever este método.
+     * @param events Os eventos de domínio a serem publicados
+     */
+    default void publishAll(List<? extends DomainEvent> events) {
+        for (DomainEvent event : events) {
+            publish(event);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.codingbetter.domain.shared.event;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reactive-streams adapter for domain event publishing, based on the JDK {@link Flow} API.
+ * Events published through the DomainEventPublisher contract are delivered to every
+ * subscriber according to the demand it signals with {@link Flow.Subscription#request(long)}.
+ * Each subscriber has its own bounded buffer; when it is full, the configured
+ * {@link OverflowStrategy} decides what happens to new events.
+ * Events are delivered asynchronously, on virtual threads unless another executor is provided.
+ */
+public class FlowDomainEventPublisher implements DomainEventPublisher, Flow.Publisher<DomainEvent>, AutoCloseable {
+
+    /**
+     * Strategy applied when an event is published while a subscriber's buffer is full.
+     */
+    public enum OverflowStrategy {
+        /**
+         * Blocks the publishing thread until the subscriber has room in its buffer.
+         */
+        BUFFER,
+        /**
+         * Discards the oldest buffered event to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Replaces the most recently buffered event with the new one,
+         * so the subscriber always receives the latest event.
+         */
+        LATEST,
+        /**
+         * Discards the buffered events and terminates the subscription with an error.
+         */
+        ERROR
+    }
+
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = Thread::startVirtualThread;
+
+    private final int bufferSize;
+    private final OverflowStrategy overflowStrategy;
+    private final Executor executor;
+    private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher that delivers events on virtual threads.
+     *
+     * @param bufferSize The maximum number of events buffered for each subscriber
+     * @param overflowStrategy The strategy applied when a subscriber's buffer is full
+     */
+    public FlowDomainEventPublisher(int bufferSize, OverflowStrategy overflowStrategy) {
+        this(bufferSize, overflowStrategy, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Creates a publisher that delivers events using the given executor.
+     *
+     * @param bufferSize The maximum number of events buffered for each subscriber
+     * @param overflowStrategy The strategy applied when a subscriber's buffer is full
+     * @param executor The executor used to deliver events to subscribers
+     */
+    public FlowDomainEventPublisher(int bufferSize, OverflowStrategy overflowStrategy, Executor executor) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = Objects.requireNonNull(overflowStrategy, "Overflow strategy must not be null");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+    }
+
+    /**
+     * Offers the event to every current subscriber.
+     * With the {@link OverflowStrategy#BUFFER} strategy, this call blocks while a subscriber's buffer is full.
+     *
+     * @param event The domain event to be published
+     * @throws IllegalStateException if the publisher has been closed
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        Objects.requireNonNull(event, "Event must not be null");
+        if (closed) {
+            throw new IllegalStateException("Publisher is closed");
+        }
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super DomainEvent> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null");
+        BufferedSubscription subscription = new BufferedSubscription(subscriber);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+        subscription.start();
+    }
+
+    /**
+     * Returns the number of active subscribers.
+     * @return The number of subscribers
+     */
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops accepting events and completes every subscriber once its buffered events have been delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Subscription with its own bounded buffer and demand counter.
+     * Signals to the subscriber are serialized by a work-in-progress counter, which starts owned
+     * by the subscribing thread so that nothing is delivered before onSubscribe returns.
+     */
+    private final class BufferedSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super DomainEvent> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+        private final ArrayDeque<DomainEvent> buffer = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger(1);
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        BufferedSubscription(Flow.Subscriber<? super DomainEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested demand must be positive"));
+                return;
+            }
+            requested.getAndAccumulate(n, (current, increment) -> {
+                long sum = current + increment;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            lock.lock();
+            try {
+                buffer.clear();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            subscriptions.remove(this);
+        }
+
+        void offer(DomainEvent event) {
+            lock.lock();
+            try {
+                if (cancelled || done) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    switch (overflowStrategy) {
+                        case BUFFER -> awaitCapacity();
+                        case DROP_OLDEST -> buffer.pollFirst();
+                        case LATEST -> buffer.pollLast();
+                        case ERROR -> {
+                            buffer.clear();
+                            error = new IllegalStateException("Subscriber buffer overflow");
+                            done = true;
+                        }
+                    }
+                }
+                if (!cancelled && !done) {
+                    buffer.offerLast(event);
+                }
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        void complete() {
+            lock.lock();
+            try {
+                done = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        void start() {
+            executor.execute(this::drainLoop);
+        }
+
+        private void fail(Throwable failure) {
+            lock.lock();
+            try {
+                buffer.clear();
+                error = failure;
+                done = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        private void awaitCapacity() {
+            try {
+                while (buffer.size() >= bufferSize && !cancelled && !done) {
+                    notFull.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for subscriber capacity", e);
+            }
+        }
+
+        private DomainEvent poll() {
+            lock.lock();
+            try {
+                DomainEvent event = buffer.pollFirst();
+                if (event != null) {
+                    notFull.signal();
+                }
+                return event;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isEmpty() {
+            lock.lock();
+            try {
+                return buffer.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drainLoop);
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    return;
+                }
+                Throwable failure = error;
+                if (failure != null) {
+                    terminate();
+                    subscriber.onError(failure);
+                    return;
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    DomainEvent event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        return;
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (done && isEmpty()) {
+                    terminate();
+                    failure = error;
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.codingbetter.domain.shared.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-memory implementation of DeadLetterStore.
+ * When the store is full, the oldest dead letter is discarded to make room for the new one.
+ */
+public class InMemoryDeadLetterStore implements DeadLetterStore {
+
+    private final int capacity;
+    private final ArrayDeque<DeadLetter> deadLetters = new ArrayDeque<>();
+    private long droppedCount;
+
+    /**
+     * Creates a store.
+     * @param capacity The maximum number of dead letters kept
+     */
+    public InMemoryDeadLetterStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void add(DeadLetter deadLetter) {
+        if (deadLetters.size() >= capacity) {
+            deadLetters.pollFirst();
+            droppedCount++;
+        }
+        deadLetters.offerLast(deadLetter);
+    }
+
+    @Override
+    public synchronized List<DeadLetter> drainAll() {
+        List<DeadLetter> drained = new ArrayList<>(deadLetters);
+        deadLetters.clear();
+        return drained;
+    }
+
+    @Override
+    public synchronized int size() {
+        return deadLetters.size();
+    }
+
+    /**
+     * Returns the number of dead letters discarded because the store was full.
+     * @return The number of discarded dead letters
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,358 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Domain event publisher that isolates callers from failures of the underlying publisher.
+ * Published events are queued and handed to the underlying publisher asynchronously, in batches.
+ * When a batch fails, each of its events is retried according to the retry policy registered for its type,
+ * and events that exhaust their attempts are moved to a dead letter store, from which they can be replayed.
+ * Retries are scheduled on a timing wheel, so no thread is blocked while waiting for a backoff delay.
+ * The batch size adapts to the health of the underlying publisher: it halves after every failed batch and
+ * grows by a quarter after every successful one. Since a failed batch may have been partially published,
+ * delivery is at-least-once.
+ * Ordering is not preserved: while a failed event waits for its retry, later events keep being published,
+ * so the underlying publisher may receive an event after events that were published after it.
+ * Consumers that depend on ordering must tolerate reordering, for instance by versioning their updates.
+ * A {@link VirtualMachineError} thrown by the underlying publisher is not retried: the batch is queued again
+ * and the error is rethrown on the draining thread.
+ */
+public class ResilientDomainEventPublisher implements DomainEventPublisher, AutoCloseable {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = Thread::startVirtualThread;
+
+    private final DomainEventPublisher delegate;
+    private final RetryPolicy defaultRetryPolicy;
+    private final Map<Class<?>, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    private final Map<Class<?>, RetryPolicy> resolvedRetryPolicies = new ConcurrentHashMap<>();
+    private final DeadLetterStore deadLetterStore;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final Executor executor;
+    private final Queue<Attempt> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final Map<UUID, Attempt> scheduledRetries = new ConcurrentHashMap<>();
+    private final ScheduledDomainEventPublisher retryScheduler;
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile int batchSize;
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher with batches of up to 100 events, published on virtual threads.
+     *
+     * @param delegate The publisher that receives the events
+     * @param defaultRetryPolicy The retry policy of event types without a registered policy
+     * @param deadLetterStore The store of events whose publication failed permanently
+     */
+    public ResilientDomainEventPublisher(DomainEventPublisher delegate, RetryPolicy defaultRetryPolicy,
+                                         DeadLetterStore deadLetterStore) {
+        this(delegate, defaultRetryPolicy, deadLetterStore, 1, DEFAULT_MAX_BATCH_SIZE, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Creates a publisher.
+     *
+     * @param delegate The publisher that receives the events
+     * @param defaultRetryPolicy The retry policy of event types without a registered policy
+     * @param deadLetterStore The store of events whose publication failed permanently
+     * @param minBatchSize The size batches shrink to under failures
+     * @param maxBatchSize The size batches grow to when the underlying publisher is healthy
+     * @param executor The executor on which events are handed to the underlying publisher
+     */
+    public ResilientDomainEventPublisher(DomainEventPublisher delegate, RetryPolicy defaultRetryPolicy,
+                                         DeadLetterStore deadLetterStore, int minBatchSize, int maxBatchSize,
+                                         Executor executor) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate publisher must not be null");
+        this.defaultRetryPolicy = Objects.requireNonNull(defaultRetryPolicy, "Default retry policy must not be null");
+        this.deadLetterStore = Objects.requireNonNull(deadLetterStore, "Dead letter store must not be null");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Batch sizes must be positive and the maximum must not be below the minimum");
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = maxBatchSize;
+        this.retryScheduler = new ScheduledDomainEventPublisher(this::retryDue);
+    }
+
+    /**
+     * Registers the retry policy of an event type, which may be a class or an interface.
+     * It also applies to the subtypes of the type that have no policy of their own: the policy of the
+     * nearest superclass wins, then the policy of the nearest interface, in declaration order.
+     *
+     * @param eventType The event type
+     * @param retryPolicy The retry policy
+     */
+    public synchronized void registerRetryPolicy(Class<? extends DomainEvent> eventType, RetryPolicy retryPolicy) {
+        retryPolicies.put(Objects.requireNonNull(eventType, "Event type must not be null"),
+                Objects.requireNonNull(retryPolicy, "Retry policy must not be null"));
+        resolvedRetryPolicies.clear();
+    }
+
+    /**
+     * Queues the event for publication. Failures of the underlying publisher are not propagated to the caller.
+     *
+     * @param event The domain event to be published
+     * @throws IllegalStateException if the publisher has been closed
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        publishAll(Collections.singletonList(event));
+    }
+
+    /**
+     * Queues the events for publication, in order. Events that fail are retried later,
+     * possibly after the events that follow them. Failures of the underlying publisher are not propagated to the caller.
+     *
+     * @param events The domain events to be published
+     * @throws IllegalStateException if the publisher has been closed
+     */
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (closed) {
+            throw new IllegalStateException("Publisher is closed");
+        }
+        for (DomainEvent event : events) {
+            enqueue(new Attempt(Objects.requireNonNull(event, "Event must not be null"), 0, null));
+        }
+        drain();
+    }
+
+    /**
+     * Moves every event of the dead letter store back to the publication queue, with a fresh retry budget.
+     * @return The number of replayed events
+     */
+    public int replayDeadLetters() {
+        List<DeadLetter> deadLetters = deadLetterStore.drainAll();
+        for (DeadLetter deadLetter : deadLetters) {
+            enqueue(new Attempt(deadLetter.getEvent(), 0, null));
+        }
+        drain();
+        return deadLetters.size();
+    }
+
+    /**
+     * Returns the current batch size.
+     * @return The maximum number of events handed to the underlying publisher at once
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of events queued or waiting for a retry.
+     * @return The number of pending events
+     */
+    public int getPendingCount() {
+        return queuedCount.get() + scheduledRetries.size();
+    }
+
+    /**
+     * Stops accepting events. Events waiting for a retry are moved to the dead letter store,
+     * while events already queued are still handed to the underlying publisher.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        retryScheduler.close();
+        for (UUID retryId : new ArrayList<>(scheduledRetries.keySet())) {
+            Attempt attempt = scheduledRetries.remove(retryId);
+            if (attempt != null) {
+                deadLetterStore.add(new DeadLetter(attempt.event, attempt.lastFailure, attempt.attempts, Instant.now()));
+            }
+        }
+    }
+
+    private void enqueue(Attempt attempt) {
+        queuedCount.incrementAndGet();
+        queue.add(attempt);
+    }
+
+    private void retryDue(DomainEvent retry) {
+        Attempt attempt = scheduledRetries.remove(retry.getId());
+        if (attempt != null) {
+            enqueue(attempt);
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        try {
+            for (;;) {
+                List<Attempt> batch = nextBatch();
+                while (!batch.isEmpty()) {
+                    publishBatch(batch);
+                    batch = nextBatch();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        } catch (Throwable failure) {
+            // Only reached if the dead letter store or the JVM fails. The unhandled events were queued again
+            // and are drained by the next publication or retry, rather than spinning against a failing store.
+            wip.set(0);
+            if (failure instanceof VirtualMachineError fatal) {
+                throw fatal;
+            }
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+        }
+    }
+
+    private List<Attempt> nextBatch() {
+        int size = batchSize;
+        List<Attempt> batch = new ArrayList<>(Math.min(size, queuedCount.get()));
+        Attempt attempt;
+        while (batch.size() < size && (attempt = queue.poll()) != null) {
+            queuedCount.decrementAndGet();
+            batch.add(attempt);
+        }
+        return batch;
+    }
+
+    private void publishBatch(List<Attempt> batch) {
+        List<DomainEvent> events = new ArrayList<>(batch.size());
+        for (Attempt attempt : batch) {
+            events.add(attempt.event);
+        }
+        try {
+            delegate.publishAll(events);
+        } catch (VirtualMachineError e) {
+            requeue(batch);
+            throw e;
+        } catch (Exception | Error e) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+            int handled = 0;
+            try {
+                for (Attempt attempt : batch) {
+                    failed(attempt, e);
+                    handled++;
+                }
+            } finally {
+                // The dead letter store failed: the rest of the batch is queued again rather than dropped
+                if (handled < batch.size()) {
+                    requeue(batch.subList(handled, batch.size()));
+                }
+            }
+            return;
+        }
+        batchSize = Math.min(maxBatchSize, batchSize + Math.max(1, batchSize / 4));
+    }
+
+    private void requeue(List<Attempt> attempts) {
+        for (Attempt attempt : attempts) {
+            enqueue(attempt);
+        }
+    }
+
+    private void failed(Attempt attempt, Throwable failure) {
+        int attempts = attempt.attempts + 1;
+        RetryPolicy retryPolicy = retryPolicyFor(attempt.event.getClass());
+        if (closed || attempts >= retryPolicy.getMaxAttempts()) {
+            deadLetterStore.add(new DeadLetter(attempt.event, failure, attempts, Instant.now()));
+            return;
+        }
+        Duration delay = retryPolicy.getDelay(attempts);
+        // Keyed by retry rather than by event, since the same event may be waiting for several retries
+        RetryToken retry = new RetryToken();
+        scheduledRetries.put(retry.getId(), new Attempt(attempt.event, attempts, failure));
+        try {
+            retryScheduler.publishAfter(retry, delay);
+        } catch (IllegalStateException e) {
+            // Closed concurrently: the retry will never be due
+            if (scheduledRetries.remove(retry.getId()) != null) {
+                deadLetterStore.add(new DeadLetter(attempt.event, failure, attempts, Instant.now()));
+            }
+        }
+    }
+
+    private RetryPolicy retryPolicyFor(Class<?> eventType) {
+        return resolvedRetryPolicies.computeIfAbsent(eventType, this::resolveRetryPolicy);
+    }
+
+    private RetryPolicy resolveRetryPolicy(Class<?> eventType) {
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            RetryPolicy retryPolicy = retryPolicies.get(type);
+            if (retryPolicy != null) {
+                return retryPolicy;
+            }
+        }
+        // Breadth-first, so that directly implemented interfaces win over the interfaces they extend
+        Queue<Class<?>> interfaces = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            Collections.addAll(interfaces, type.getInterfaces());
+        }
+        Class<?> type;
+        while ((type = interfaces.poll()) != null) {
+            if (visited.add(type)) {
+                RetryPolicy retryPolicy = retryPolicies.get(type);
+                if (retryPolicy != null) {
+                    return retryPolicy;
+                }
+                Collections.addAll(interfaces, type.getInterfaces());
+            }
+        }
+        return defaultRetryPolicy;
+    }
+
+    /**
+     * Placeholder scheduled on the retry timer, identifying one pending retry.
+     */
+    private static final class RetryToken implements DomainEvent {
+        private static final long serialVersionUID = 1L;
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+
+    /**
+     * Domain event with the number of publication attempts already made.
+     */
+    private static final class Attempt {
+        private final DomainEvent event;
+        private final int attempts;
+        private final Throwable lastFailure;
+
+        Attempt(DomainEvent event, int attempts, Throwable lastFailure) {
+            this.event = event;
+            this.attempts = attempts;
+            this.lastFailure = lastFailure;
+        }
+    }
+}
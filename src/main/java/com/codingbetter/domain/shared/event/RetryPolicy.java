@@ -0,0 +1,112 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for publishing domain events.
+ * Defines how many times the publication of an event is attempted and
+ * how long to wait between attempts, using exponential backoff with optional jitter.
+ * Instances are immutable.
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy NO_RETRY = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1.0, 0.0);
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double multiplier;
+    private final double jitter;
+
+    private RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, double multiplier, double jitter) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Creates a policy that does not retry failed publications.
+     * @return The policy
+     */
+    public static RetryPolicy noRetry() {
+        return NO_RETRY;
+    }
+
+    /**
+     * Creates a policy with exponential backoff, doubling the delay after every failed attempt.
+     *
+     * @param maxAttempts The maximum number of attempts, including the first one
+     * @param initialDelay The delay before the first retry
+     * @param maxDelay The upper bound of the delay between attempts
+     * @return The policy
+     */
+    public static RetryPolicy exponentialBackoff(int maxAttempts, Duration initialDelay, Duration maxDelay) {
+        return exponentialBackoff(maxAttempts, initialDelay, maxDelay, 2.0);
+    }
+
+    /**
+     * Creates a policy with exponential backoff.
+     *
+     * @param maxAttempts The maximum number of attempts, including the first one
+     * @param initialDelay The delay before the first retry
+     * @param maxDelay The upper bound of the delay between attempts
+     * @param multiplier The factor applied to the delay after every failed attempt
+     * @return The policy
+     */
+    public static RetryPolicy exponentialBackoff(int maxAttempts, Duration initialDelay, Duration maxDelay,
+                                                 double multiplier) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts must be at least 1");
+        }
+        Objects.requireNonNull(initialDelay, "Initial delay must not be null");
+        Objects.requireNonNull(maxDelay, "Maximum delay must not be null");
+        if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("Delays must not be negative and the maximum delay must not be below the initial delay");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, 0.0);
+    }
+
+    /**
+     * Returns a copy of this policy with random jitter applied to the delays.
+     * A jitter of 0.5, for example, spreads every delay randomly between 50% and 100% of its value,
+     * so that events that failed together are not retried together.
+     *
+     * @param jitter The fraction of the delay that is randomized, between 0 and 1
+     * @return The policy with jitter
+     */
+    public RetryPolicy withJitter(double jitter) {
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    /**
+     * Returns the maximum number of attempts, including the first one.
+     * @return The maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay before the given retry.
+     * @param retry The retry number, starting at 1 for the retry after the first failed attempt
+     * @return The delay before the retry
+     */
+    public Duration getDelay(int retry) {
+        double delayNanos = initialDelay.toNanos() * Math.pow(multiplier, Math.max(0, retry - 1));
+        delayNanos = Math.min(delayNanos, maxDelay.toNanos());
+        if (jitter > 0.0) {
+            delayNanos -= delayNanos * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Duration.ofNanos((long) delayNanos);
+    }
+}
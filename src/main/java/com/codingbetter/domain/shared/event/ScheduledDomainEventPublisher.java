@@ -0,0 +1,263 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Domain event publisher that supports publishing events at a later time.
+ * Scheduled events are kept in a hierarchical timing wheel, with constant-time scheduling and cancellation,
+ * driven by a single timer thread. The events that expire on the same tick are handed to the underlying
+ * publisher as one batch through {@link DomainEventPublisher#publishAll(List)}. Batches are handed over
+ * one at a time, in the order they expire, so the underlying publisher does not need to be thread-safe.
+ * Failures of the underlying publisher are logged and not retried.
+ * Optionally, scheduled events are persisted in a {@link ScheduledEventStore} and rescheduled on creation,
+ * so that pending publications survive restarts.
+ */
+public final class ScheduledDomainEventPublisher implements DomainEventPublisher, AutoCloseable {
+
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = Thread::startVirtualThread;
+    private static final System.Logger LOGGER = System.getLogger(ScheduledDomainEventPublisher.class.getName());
+    private static final ScheduledEventStore NO_STORE = new ScheduledEventStore() {
+        @Override
+        public void save(UUID scheduleId, DomainEvent event, Instant deliverAt) {
+            // Scheduled events are not persisted
+        }
+
+        @Override
+        public void removeAll(Collection<UUID> scheduleIds) {
+            // Scheduled events are not persisted
+        }
+
+        @Override
+        public void forEachPending(PendingAction action) {
+            // Scheduled events are not persisted
+        }
+    };
+
+    private final DomainEventPublisher delegate;
+    private final ScheduledEventStore store;
+    private final Executor dispatcher;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Instant startInstant;
+    private final Queue<ScheduledEvent> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledEvent> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final TimingWheel wheel;
+    private final Thread timer;
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher with a 10 millisecond tick that does not persist scheduled events.
+     *
+     * @param delegate The publisher that receives the events when they are due
+     */
+    public ScheduledDomainEventPublisher(DomainEventPublisher delegate) {
+        this(delegate, DEFAULT_TICK_DURATION, NO_STORE, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Creates a publisher with a 10 millisecond tick that persists scheduled events.
+     * The pending events of the store are rescheduled immediately.
+     *
+     * @param delegate The publisher that receives the events when they are due
+     * @param store The store of scheduled events
+     */
+    public ScheduledDomainEventPublisher(DomainEventPublisher delegate, ScheduledEventStore store) {
+        this(delegate, DEFAULT_TICK_DURATION, store, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Creates a publisher.
+     * The pending events of the store are rescheduled immediately.
+     *
+     * @param delegate The publisher that receives the events when they are due
+     * @param tickDuration The resolution of the timer; events are published at most one tick late
+     * @param store The store of scheduled events
+     * @param dispatcher The executor on which due events are handed to the delegate, one batch at a time
+     */
+    public ScheduledDomainEventPublisher(DomainEventPublisher delegate, Duration tickDuration,
+                                         ScheduledEventStore store, Executor dispatcher) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate publisher must not be null");
+        this.store = Objects.requireNonNull(store, "Scheduled event store must not be null");
+        this.dispatcher = new SerialExecutor(Objects.requireNonNull(dispatcher, "Dispatcher must not be null"));
+        if (tickDuration == null || tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.startInstant = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.wheel = new TimingWheel(0);
+
+        store.forEachPending(this::schedule);
+        this.timer = Thread.ofPlatform().daemon().name("domain-event-timer").start(this::runTimer);
+    }
+
+    /**
+     * Publishes the event immediately through the underlying publisher.
+     * @param event The domain event to be published
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        delegate.publish(event);
+    }
+
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        delegate.publishAll(events);
+    }
+
+    /**
+     * Schedules an event to be published at the given instant.
+     * Instants in the past are published on the next tick.
+     * Scheduling the same event more than once creates independent publications, each with its own handle.
+     *
+     * @param event The domain event to be published
+     * @param deliverAt The instant at which the event is due
+     * @return The handle of the scheduled publication
+     * @throws IllegalStateException if the publisher has been closed
+     */
+    public ScheduledEvent publishAt(DomainEvent event, Instant deliverAt) {
+        Objects.requireNonNull(event, "Event must not be null");
+        Objects.requireNonNull(deliverAt, "Delivery instant must not be null");
+        if (closed) {
+            throw new IllegalStateException("Publisher is closed");
+        }
+        UUID scheduleId = UUID.randomUUID();
+        store.save(scheduleId, event, deliverAt);
+        return schedule(scheduleId, event, deliverAt);
+    }
+
+    /**
+     * Schedules an event to be published after the given delay.
+     *
+     * @param event The domain event to be published
+     * @param delay The delay before the event is due
+     * @return The handle of the scheduled publication
+     * @throws IllegalStateException if the publisher has been closed
+     */
+    public ScheduledEvent publishAfter(DomainEvent event, Duration delay) {
+        Objects.requireNonNull(delay, "Delay must not be null");
+        return publishAt(event, Instant.now().plus(delay));
+    }
+
+    /**
+     * Returns the number of scheduled events that are neither due nor cancelled.
+     * @return The number of pending events
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops the timer thread. Pending events are not published, but remain in the store.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(timer);
+        try {
+            timer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void cancelled(ScheduledEvent scheduledEvent) {
+        pendingCount.decrementAndGet();
+        cancellations.add(scheduledEvent);
+        store.removeAll(Collections.singletonList(scheduledEvent.getId()));
+    }
+
+    private ScheduledEvent schedule(UUID scheduleId, DomainEvent event, Instant deliverAt) {
+        ScheduledEvent scheduledEvent = new ScheduledEvent(this, scheduleId, event, deliverAt, deadlineTick(deliverAt));
+        pendingCount.incrementAndGet();
+        additions.add(scheduledEvent);
+        return scheduledEvent;
+    }
+
+    private long deadlineTick(Instant deliverAt) {
+        long nanos;
+        try {
+            nanos = Duration.between(startInstant, deliverAt).toNanos();
+        } catch (ArithmeticException e) {
+            nanos = deliverAt.isBefore(startInstant) ? 0 : Long.MAX_VALUE;
+        }
+        if (nanos <= 0) {
+            return 0;
+        }
+        // Rounded up, so that events are never published before they are due
+        return nanos / tickNanos + (nanos % tickNanos == 0 ? 0 : 1);
+    }
+
+    private void runTimer() {
+        long tick = 0;
+        List<ScheduledEvent> expired = new ArrayList<>();
+        while (!closed) {
+            long waitNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+            tick = (System.nanoTime() - startNanos) / tickNanos;
+            try {
+                ScheduledEvent scheduledEvent;
+                while ((scheduledEvent = cancellations.poll()) != null) {
+                    wheel.remove(scheduledEvent);
+                }
+                while ((scheduledEvent = additions.poll()) != null) {
+                    if (scheduledEvent.isPending() && !wheel.add(scheduledEvent)) {
+                        expired.add(scheduledEvent);
+                    }
+                }
+                wheel.advance(tick, expired::add);
+
+                if (!expired.isEmpty()) {
+                    List<ScheduledEvent> due = expired;
+                    expired = new ArrayList<>();
+                    dispatch(due);
+                }
+            } catch (RuntimeException e) {
+                // Keeps the timer alive: a rejected batch stays queued in the dispatcher and is retried with the next one
+                LOGGER.log(System.Logger.Level.ERROR, "Failed to process scheduled domain events", e);
+            }
+        }
+    }
+
+    private void dispatch(List<ScheduledEvent> expired) {
+        List<DomainEvent> events = new ArrayList<>(expired.size());
+        List<UUID> scheduleIds = new ArrayList<>(expired.size());
+        for (ScheduledEvent scheduledEvent : expired) {
+            if (scheduledEvent.markDelivered()) {
+                pendingCount.decrementAndGet();
+                events.add(scheduledEvent.getEvent());
+                scheduleIds.add(scheduledEvent.getId());
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            try {
+                delegate.publishAll(events);
+            } catch (RuntimeException e) {
+                // Not removed from the store, so that the failed batch is rescheduled after a restart
+                LOGGER.log(System.Logger.Level.ERROR, "Failed to publish " + events.size() + " scheduled domain events", e);
+                return;
+            }
+            store.removeAll(scheduleIds);
+        });
+    }
+}
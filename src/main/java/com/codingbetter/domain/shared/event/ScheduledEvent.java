@@ -0,0 +1,99 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle of a domain event scheduled for later publication.
+ * Returned by ScheduledDomainEventPublisher and used to cancel the publication.
+ */
+public final class ScheduledEvent {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int DELIVERED = 2;
+
+    private final ScheduledDomainEventPublisher publisher;
+    private final UUID id;
+    private final DomainEvent event;
+    private final Instant deliverAt;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    // Timing wheel bookkeeping, confined to the timer thread
+    final long deadlineTick;
+    TimingWheel.Bucket bucket;
+    ScheduledEvent previous;
+    ScheduledEvent next;
+
+    ScheduledEvent(ScheduledDomainEventPublisher publisher, UUID id, DomainEvent event, Instant deliverAt,
+                   long deadlineTick) {
+        this.publisher = publisher;
+        this.id = id;
+        this.event = event;
+        this.deliverAt = deliverAt;
+        this.deadlineTick = deadlineTick;
+    }
+
+    /**
+     * Returns the identifier of the scheduled publication, under which it is persisted.
+     * Distinct from the event identifier, since the same event may be scheduled more than once.
+     * @return The schedule identifier
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Returns the scheduled domain event.
+     * @return The domain event
+     */
+    public DomainEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the instant at which the event is due to be published.
+     * @return The publication instant
+     */
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    /**
+     * Cancels the publication of the event, if it has not been published yet.
+     * @return true if the publication was cancelled, false if it was already published or cancelled
+     */
+    public boolean cancel() {
+        if (!state.compareAndSet(PENDING, CANCELLED)) {
+            return false;
+        }
+        publisher.cancelled(this);
+        return true;
+    }
+
+    /**
+     * Checks if the publication has been cancelled.
+     * @return true if the publication was cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    /**
+     * Checks if the event has become due and been queued for the underlying publisher.
+     * It can no longer be cancelled, but its publication may still be in progress or may have failed.
+     * @return true if the event was due, false otherwise
+     */
+    public boolean isDelivered() {
+        return state.get() == DELIVERED;
+    }
+
+    boolean isPending() {
+        return state.get() == PENDING;
+    }
+
+    boolean markDelivered() {
+        return state.compareAndSet(PENDING, DELIVERED);
+    }
+}
@@ -0,0 +1,49 @@
+package com.codingbetter.domain.shared.event;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Interface for persisting domain events scheduled for later publication,
+ * so that pending publications survive application restarts.
+ * Entries are keyed by the identifier of the scheduled publication, not by the event identifier,
+ * since the same event may be scheduled more than once.
+ */
+public interface ScheduledEventStore {
+
+    /**
+     * Stores a scheduled domain event.
+     * @param scheduleId The identifier of the scheduled publication
+     * @param event The domain event
+     * @param deliverAt The instant at which the event is due to be published
+     */
+    void save(UUID scheduleId, DomainEvent event, Instant deliverAt);
+
+    /**
+     * Removes scheduled publications that were published or cancelled.
+     * @param scheduleIds The identifiers of the scheduled publications to be removed
+     */
+    void removeAll(Collection<UUID> scheduleIds);
+
+    /**
+     * Iterates over every stored publication that is still pending.
+     * @param action The action receiving each pending publication
+     */
+    void forEachPending(PendingAction action);
+
+    /**
+     * Action receiving a pending publication read from the store.
+     */
+    @FunctionalInterface
+    interface PendingAction {
+
+        /**
+         * Receives a pending publication.
+         * @param scheduleId The identifier of the scheduled publication
+         * @param event The domain event
+         * @param deliverAt The instant at which the event is due to be published
+         */
+        void accept(UUID scheduleId, DomainEvent event, Instant deliverAt);
+    }
+}
@@ -0,0 +1,62 @@
+package com.codingbetter.domain.shared.event;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that runs its tasks one at a time, in submission order, on an underlying executor.
+ * Tasks are expected to handle their own failures; a task that throws is reported to the
+ * uncaught exception handler of the running thread, and the following tasks still run.
+ * If the underlying executor rejects the drain, the rejection is rethrown and the queued tasks
+ * are kept, to be run once a later task is accepted.
+ */
+final class SerialExecutor implements Executor {
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    SerialExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(Objects.requireNonNull(task, "Task must not be null"));
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drainLoop);
+            } catch (RuntimeException e) {
+                // No drain is running: the next task submitted starts one
+                wip.set(0);
+                throw e;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                run(task);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable failure) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+        }
+    }
+}
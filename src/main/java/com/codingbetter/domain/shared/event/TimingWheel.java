@@ -0,0 +1,178 @@
+package com.codingbetter.domain.shared.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding scheduled events by deadline tick.
+ * Each level has 64 slots; a slot at level {@code n} spans {@code 64^n} ticks.
+ * Events are inserted and removed in constant time, and are cascaded to lower levels
+ * when the wheel reaches the slot they are in. Levels are created on demand.
+ * Not thread-safe: it is confined to the timer thread of ScheduledDomainEventPublisher.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+        levels.add(new Bucket[SLOTS]);
+    }
+
+    /**
+     * Adds an event to the wheel.
+     * @param timer The scheduled event
+     * @return false if the deadline of the event has already been reached, true otherwise
+     */
+    boolean add(ScheduledEvent timer) {
+        long deadline = timer.deadlineTick;
+        if (deadline <= currentTick) {
+            return false;
+        }
+        int level = 0;
+        while ((deadline >>> shift(level)) - (currentTick >>> shift(level)) >= SLOTS) {
+            level++;
+        }
+        bucket(level, (int) ((deadline >>> shift(level)) & SLOT_MASK)).add(timer);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes an event from the wheel, if it is still in it.
+     * @param timer The scheduled event
+     */
+    void remove(ScheduledEvent timer) {
+        if (timer.bucket != null) {
+            timer.bucket.remove(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel up to the given tick, passing every expired event to the consumer.
+     * @param tick The tick to advance to
+     * @param expired The consumer of expired events
+     */
+    void advance(long tick, Consumer<ScheduledEvent> expired) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if ((currentTick & ((1L << shift(level)) - 1)) == 0) {
+                    Bucket bucket = levels.get(level)[(int) ((currentTick >>> shift(level)) & SLOT_MASK)];
+                    if (bucket != null) {
+                        cascade(bucket, expired);
+                    }
+                }
+            }
+            Bucket bucket = levels.get(0)[(int) (currentTick & SLOT_MASK)];
+            if (bucket != null) {
+                ScheduledEvent timer = bucket.detachAll();
+                while (timer != null) {
+                    ScheduledEvent next = timer.next;
+                    timer.next = null;
+                    size--;
+                    expired.accept(timer);
+                    timer = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events in the wheel.
+     * @return The number of events
+     */
+    int size() {
+        return size;
+    }
+
+    private void cascade(Bucket bucket, Consumer<ScheduledEvent> expired) {
+        ScheduledEvent timer = bucket.detachAll();
+        while (timer != null) {
+            ScheduledEvent next = timer.next;
+            timer.next = null;
+            size--;
+            if (!add(timer)) {
+                expired.accept(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private Bucket bucket(int level, int slot) {
+        while (levels.size() <= level) {
+            levels.add(new Bucket[SLOTS]);
+        }
+        Bucket[] slots = levels.get(level);
+        if (slots[slot] == null) {
+            slots[slot] = new Bucket();
+        }
+        return slots[slot];
+    }
+
+    private static int shift(int level) {
+        return SLOT_BITS * level;
+    }
+
+    /**
+     * Doubly-linked list of the events of one slot.
+     */
+    static final class Bucket {
+        private ScheduledEvent head;
+        private ScheduledEvent tail;
+
+        void add(ScheduledEvent timer) {
+            timer.bucket = this;
+            timer.previous = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        void remove(ScheduledEvent timer) {
+            if (timer.previous == null) {
+                head = timer.next;
+            } else {
+                timer.previous.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.previous;
+            } else {
+                timer.next.previous = timer.previous;
+            }
+            timer.bucket = null;
+            timer.previous = null;
+            timer.next = null;
+        }
+
+        /**
+         * Empties the bucket, returning its events linked through their next reference.
+         */
+        ScheduledEvent detachAll() {
+            ScheduledEvent first = head;
+            for (ScheduledEvent timer = first; timer != null; timer = timer.next) {
+                timer.bucket = null;
+                timer.previous = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
@@ -9,22 +9,65 @@ import com.codingbetter.domain.shared.event.DomainEvent;
 /**
  * Abstract implementation of the AggregateRoot interface.
  * Provides basic functionality for domain event management.
+ * By default, events are collected in a plain list and must be added by one thread at a time;
+ * aggregates mutated by parallel sub-tasks can opt in to a lock-free concurrent event buffer.
  */
 public abstract class AbstractAggregateRoot implements AggregateRoot {
-    private final List<DomainEvent> domainEvents = new ArrayList<>();
+    private final List<DomainEvent> domainEvents;
+    private final ConcurrentDomainEventBuffer concurrentDomainEvents;
+
+    /**
+     * Constructor for aggregates whose events are added by one thread at a time.
+     */
+    protected AbstractAggregateRoot() {
+        this(false);
+    }
+
+    /**
+     * Constructor that optionally enables concurrent event collection.
+     * In concurrent mode, events can be added from several threads without external synchronization,
+     * and {@link #drainDomainEvents()} is atomic with respect to concurrent additions.
+     *
+     * @param concurrentEventCollection true to collect events in a lock-free concurrent buffer
+     */
+    protected AbstractAggregateRoot(boolean concurrentEventCollection) {
+        this.domainEvents = concurrentEventCollection ? null : new ArrayList<>();
+        this.concurrentDomainEvents = concurrentEventCollection ? new ConcurrentDomainEventBuffer() : null;
+    }
 
     @Override
     public List<DomainEvent> getDomainEvents() {
+        if (concurrentDomainEvents != null) {
+            return concurrentDomainEvents.snapshot();
+        }
         return Collections.unmodifiableList(domainEvents);
     }
 
     @Override
     public void clearDomainEvents() {
-        domainEvents.clear();
+        if (concurrentDomainEvents != null) {
+            concurrentDomainEvents.clear();
+        } else {
+            domainEvents.clear();
+        }
     }
 
     @Override
     public void addDomainEvent(DomainEvent event) {
-        domainEvents.add(event);
+        if (concurrentDomainEvents != null) {
+            concurrentDomainEvents.add(event);
+        } else {
+            domainEvents.add(event);
+        }
+    }
+
+    @Override
+    public List<DomainEvent> drainDomainEvents() {
+        if (concurrentDomainEvents != null) {
+            return concurrentDomainEvents.drain();
+        }
+        List<DomainEvent> drained = Collections.unmodifiableList(new ArrayList<>(domainEvents));
+        domainEvents.clear();
+        return drained;
     }
-} 
\ No newline at end of file
+}
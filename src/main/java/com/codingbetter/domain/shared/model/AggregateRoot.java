@@ -26,4 +26,16 @@ public interface AggregateRoot {
      * @param event The domain event to be added
      */
     void addDomainEvent(DomainEvent event);
+
+    /**
+     * Removes and returns the domain events accumulated by this aggregate.
+     * Implementations that support concurrent additions perform this atomically,
+     * so that no event is lost or returned twice.
+     * @return Immutable list of domain events
+     */
+    default List<DomainEvent> drainDomainEvents() {
+        List<DomainEvent> events = List.copyOf(getDomainEvents());
+        clearDomainEvents();
+        return events;
+    }
 } 
\ No newline at end of file
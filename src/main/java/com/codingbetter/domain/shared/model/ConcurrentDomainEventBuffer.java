@@ -0,0 +1,76 @@
+package com.codingbetter.domain.shared.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.codingbetter.domain.shared.event.DomainEvent;
+
+/**
+ * Lock-free buffer of domain events supporting concurrent additions.
+ * Events are pushed onto a linked stack with a single compare-and-set, and are returned
+ * in the order their additions took effect, which preserves the order of the events added by each thread.
+ * Draining detaches the whole stack atomically, so every event is returned by exactly one drain.
+ */
+final class ConcurrentDomainEventBuffer {
+
+    private final AtomicReference<Node> head = new AtomicReference<>();
+
+    /**
+     * Adds an event to the buffer.
+     * @param event The domain event
+     */
+    void add(DomainEvent event) {
+        Node node = new Node(event);
+        Node current;
+        do {
+            current = head.get();
+            node.next = current;
+        } while (!head.compareAndSet(current, node));
+    }
+
+    /**
+     * Returns the events currently in the buffer, without removing them.
+     * @return Immutable list of domain events, oldest first
+     */
+    List<DomainEvent> snapshot() {
+        return toList(head.get());
+    }
+
+    /**
+     * Removes and returns the events currently in the buffer.
+     * @return Immutable list of domain events, oldest first
+     */
+    List<DomainEvent> drain() {
+        return toList(head.getAndSet(null));
+    }
+
+    /**
+     * Removes the events currently in the buffer.
+     */
+    void clear() {
+        head.set(null);
+    }
+
+    private static List<DomainEvent> toList(Node newest) {
+        if (newest == null) {
+            return Collections.emptyList();
+        }
+        List<DomainEvent> events = new ArrayList<>();
+        for (Node node = newest; node != null; node = node.next) {
+            events.add(node.event);
+        }
+        Collections.reverse(events);
+        return Collections.unmodifiableList(events);
+    }
+
+    private static final class Node {
+        private final DomainEvent event;
+        private Node next;
+
+        Node(DomainEvent event) {
+            this.event = event;
+        }
+    }
+}
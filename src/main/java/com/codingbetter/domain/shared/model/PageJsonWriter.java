@@ -0,0 +1,207 @@
+package com.codingbetter.domain.shared.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Utility class for streaming Page instances as JSON.
+ * Writes the page envelope ({@code number}, {@code size}, {@code totalElements}, {@code totalPages})
+ * followed by the {@code content} array, encoding each element straight to the output as it is converted,
+ * so that no intermediate list of converted elements (such as DTOs) is built.
+ * Output streams should be buffered, since elements are written in small pieces.
+ */
+public final class PageJsonWriter {
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Functional interface that writes one page element as a JSON value.
+     *
+     * @param <T> The type of the elements
+     */
+    @FunctionalInterface
+    public interface ElementEncoder<T> {
+
+        /**
+         * Writes an element as a JSON value.
+         * @param element The element to be written
+         * @param output The output to write to
+         * @throws IOException if the output cannot be written
+         */
+        void encode(T element, OutputStream output) throws IOException;
+    }
+
+    private PageJsonWriter() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Writes a page as JSON to an output stream.
+     *
+     * @param page The page to be written
+     * @param encoder The encoder of the elements
+     * @param output The output stream
+     * @param <T> The type of elements in the page
+     * @throws IOException if the output cannot be written
+     */
+    public static <T> void write(Page<T> page, ElementEncoder<? super T> encoder, OutputStream output) throws IOException {
+        write(page, Function.<T>identity(), encoder, output);
+    }
+
+    /**
+     * Writes a page as JSON to an output stream, converting each element just before it is encoded.
+     *
+     * @param page The page to be written
+     * @param converter The conversion function, applied lazily to each element
+     * @param encoder The encoder of the converted elements
+     * @param output The output stream
+     * @param <T> The type of elements in the page
+     * @param <U> The type of the converted elements
+     * @throws IOException if the output cannot be written
+     */
+    public static <T, U> void write(Page<T> page, Function<? super T, ? extends U> converter,
+                                    ElementEncoder<? super U> encoder, OutputStream output) throws IOException {
+        writeAscii("{\"number\":" + page.getNumber()
+                + ",\"size\":" + page.getSize()
+                + ",\"totalElements\":" + page.getTotalElements()
+                + ",\"totalPages\":" + page.getTotalPages()
+                + ",\"content\":[", output);
+        boolean first = true;
+        for (T element : page.getContent()) {
+            if (!first) {
+                output.write(',');
+            }
+            first = false;
+            encoder.encode(converter.apply(element), output);
+        }
+        output.write(']');
+        output.write('}');
+    }
+
+    /**
+     * Writes a page as JSON into a byte buffer.
+     *
+     * @param page The page to be written
+     * @param encoder The encoder of the elements
+     * @param buffer The buffer, written from its current position
+     * @param <T> The type of elements in the page
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws UncheckedIOException if the encoder fails
+     */
+    public static <T> void write(Page<T> page, ElementEncoder<? super T> encoder, ByteBuffer buffer) {
+        write(page, Function.<T>identity(), encoder, buffer);
+    }
+
+    /**
+     * Writes a page as JSON into a byte buffer, converting each element just before it is encoded.
+     *
+     * @param page The page to be written
+     * @param converter The conversion function, applied lazily to each element
+     * @param encoder The encoder of the converted elements
+     * @param buffer The buffer, written from its current position
+     * @param <T> The type of elements in the page
+     * @param <U> The type of the converted elements
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws UncheckedIOException if the encoder fails
+     */
+    public static <T, U> void write(Page<T> page, Function<? super T, ? extends U> converter,
+                                    ElementEncoder<? super U> encoder, ByteBuffer buffer) {
+        try {
+            write(page, converter, encoder, new ByteBufferOutputStream(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write page", e);
+        }
+    }
+
+    /**
+     * Writes a value as a JSON string, quoted and escaped, in UTF-8.
+     * Intended to be used by element encoders.
+     *
+     * @param value The value to be written, or null to write a JSON null
+     * @param output The output stream
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeString(CharSequence value, OutputStream output) throws IOException {
+        if (value == null) {
+            writeAscii("null", output);
+            return;
+        }
+        output.write('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                output.write('\\');
+                output.write(c);
+            } else if (c < 0x20) {
+                writeEscapedControl(c, output);
+            } else if (c < 0x80) {
+                output.write(c);
+            } else if (c < 0x800) {
+                output.write(0xC0 | (c >> 6));
+                output.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                output.write(0xF0 | (codePoint >> 18));
+                output.write(0x80 | ((codePoint >> 12) & 0x3F));
+                output.write(0x80 | ((codePoint >> 6) & 0x3F));
+                output.write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates cannot be encoded in UTF-8
+                output.write('?');
+            } else {
+                output.write(0xE0 | (c >> 12));
+                output.write(0x80 | ((c >> 6) & 0x3F));
+                output.write(0x80 | (c & 0x3F));
+            }
+        }
+        output.write('"');
+    }
+
+    private static void writeEscapedControl(char c, OutputStream output) throws IOException {
+        output.write('\\');
+        switch (c) {
+            case '\n' -> output.write('n');
+            case '\r' -> output.write('r');
+            case '\t' -> output.write('t');
+            case '\b' -> output.write('b');
+            case '\f' -> output.write('f');
+            default -> {
+                output.write('u');
+                output.write('0');
+                output.write('0');
+                output.write(HEX_DIGITS[c >> 4]);
+                output.write(HEX_DIGITS[c & 0xF]);
+            }
+        }
+    }
+
+    private static void writeAscii(String value, OutputStream output) throws IOException {
+        output.write(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Output stream writing into a byte buffer.
+     */
+    private static final class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+    }
+}
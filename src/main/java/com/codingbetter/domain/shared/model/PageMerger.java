@@ -0,0 +1,123 @@
+package com.codingbetter.domain.shared.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scatter-gather merge of pages coming from several data sources.
+ * Each source is queried concurrently on a virtual thread for the first
+ * {@code (pageNumber + 1) * pageSize} elements, and the results are combined with a k-way merge.
+ */
+final class PageMerger {
+
+    private PageMerger() {
+        // Utility class should not be instantiated
+    }
+
+    static <T> Page<T> merge(List<? extends PageQuery<? extends T>> sources, Comparator<? super T> comparator,
+                             int pageNumber, int pageSize) {
+        long window = ((long) pageNumber + 1) * pageSize;
+        if (window > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Requested page is too deep to be merged");
+        }
+
+        List<Page<? extends T>> pages = fetchAll(sources, (int) window);
+
+        long totalElements = 0;
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, pages.size()),
+                (left, right) -> comparator.compare(left.current(), right.current()));
+        for (Page<? extends T> page : pages) {
+            if (page == null) {
+                continue;
+            }
+            totalElements += page.getTotalElements();
+            List<? extends T> content = page.getContent();
+            if (content.size() < Math.min(window, page.getTotalElements())) {
+                // The missing elements of a short source could belong to the requested page
+                throw new IllegalStateException("Page query returned " + content.size() + " of the "
+                        + Math.min(window, page.getTotalElements()) + " requested elements; "
+                        + "its page size may be capped below " + window);
+            }
+            if (!content.isEmpty()) {
+                heads.add(new Cursor<>(content));
+            }
+        }
+
+        long startIndex = (long) pageNumber * pageSize;
+        List<T> pageContent = new ArrayList<>(pageSize);
+        for (long index = 0; index < window && !heads.isEmpty(); index++) {
+            Cursor<T> head = heads.poll();
+            if (index >= startIndex) {
+                pageContent.add(head.current());
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+
+        return PageUtils.of(pageContent, totalElements, pageNumber, pageSize);
+    }
+
+    private static <T> List<Page<? extends T>> fetchAll(List<? extends PageQuery<? extends T>> sources, int window) {
+        if (sources.size() == 1) {
+            return Collections.singletonList(sources.get(0).fetch(0, window));
+        }
+
+        // Results are taken in completion order, so that the first failing source cancels the others right away
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Page<? extends T>> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (PageQuery<? extends T> source : sources) {
+                completionService.submit(() -> source.fetch(0, window));
+            }
+            List<Page<? extends T>> pages = new ArrayList<>(sources.size());
+            for (int i = 0; i < sources.size(); i++) {
+                pages.add(completionService.take().get());
+            }
+            return pages;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Page query failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for page queries", e);
+        } finally {
+            // Interrupts the queries still running, without waiting for them to stop
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Position within the content of a single source page.
+     */
+    private static final class Cursor<T> {
+        private final List<? extends T> content;
+        private int index;
+
+        Cursor(List<? extends T> content) {
+            this.content = content;
+        }
+
+        T current() {
+            return content.get(index);
+        }
+
+        boolean advance() {
+            return ++index < content.size();
+        }
+    }
+}
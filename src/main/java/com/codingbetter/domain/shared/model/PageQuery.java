@@ -0,0 +1,20 @@
+package com.codingbetter.domain.shared.model;
+
+/**
+ * Functional interface that defines a paged query against a single data source,
+ * such as one shard or partition of a larger data set.
+ * Used by PageUtils to merge pages coming from several sources.
+ *
+ * @param <T> The type of elements in the page
+ */
+@FunctionalInterface
+public interface PageQuery<T> {
+
+    /**
+     * Fetches a page from the data source.
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @return The requested page
+     */
+    Page<T> fetch(int pageNumber, int pageSize);
+}
@@ -1,9 +1,14 @@
 package com.codingbetter.domain.shared.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for pagination-related operations.
@@ -11,6 +16,17 @@ import java.util.function.Function;
  */
 public final class PageUtils {
 
+    /**
+     * Sorted pages are selected with a bounded heap while the end of the requested window
+     * is at most {@code 1 / HEAP_SELECTION_RATIO} of the list; deeper windows fall back to a full sort.
+     */
+    static final int HEAP_SELECTION_RATIO = 8;
+
+    /**
+     * Minimum list size from which sorted pagination uses parallel selection and sorting.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
     private PageUtils() {
         // Utility class should not be instantiated
     }
@@ -85,4 +101,137 @@ public final class PageUtils {
         
         return of(pageContent, totalElements, pageNumber, pageSize);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Creates a sorted page from a complete list, without sorting the whole list when possible.
+     * Early pages are selected with a bounded heap holding only {@code (pageNumber + 1) * pageSize} elements;
+     * deep pages fall back to a full sort of a copy of the list. Large lists are processed in parallel.
+     * The original list is never modified. Elements the comparator considers equal keep their order in the list,
+     * as with a stable sort, so that consecutive pages split the sorted list exactly.
+     * Null elements are accepted on every path if the comparator supports them.
+     *
+     * @param list The complete list of elements
+     * @param comparator The ordering of the elements
+     * @param pageNumber The desired page number (zero-based)
+     * @param pageSize The page size
+     * @param <T> The type of elements in the list
+     * @return A page with the elements corresponding to the requested page of the sorted list
+     * @throws IllegalArgumentException if the page number is negative
+     */
+    public static <T> Page<T> paginate(List<T> list, Comparator<? super T> comparator, int pageNumber, int pageSize) {
+        Objects.requireNonNull(comparator, "Comparator must not be null");
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        if (list == null || list.isEmpty()) {
+            return empty();
+        }
+
+        int totalElements = list.size();
+
+        if (pageSize <= 0) {
+            return of(sortedCopy(list, comparator), totalElements, 0, totalElements);
+        }
+
+        long startIndex = (long) pageNumber * pageSize;
+        if (startIndex >= totalElements) {
+            return of(Collections.emptyList(), totalElements, pageNumber, pageSize);
+        }
+
+        int endIndex = (int) Math.min(startIndex + pageSize, totalElements);
+        if ((long) endIndex * HEAP_SELECTION_RATIO > totalElements) {
+            List<T> sorted = sortedCopy(list, comparator);
+            return of(new ArrayList<>(sorted.subList((int) startIndex, endIndex)), totalElements, pageNumber, pageSize);
+        }
+
+        TopKSelector<T> selector;
+        if (totalElements >= PARALLEL_THRESHOLD) {
+            selector = list.parallelStream().collect(
+                    () -> new TopKSelector<>(comparator, endIndex), TopKSelector::add, TopKSelector::addAll);
+        } else {
+            selector = new TopKSelector<>(comparator, endIndex);
+            for (T element : list) {
+                selector.add(element);
+            }
+        }
+        return selector.toPage(pageNumber, pageSize);
+    }
+
+    /**
+     * Returns a collector that builds a sorted page from the elements of a stream.
+     * Only {@code (pageNumber + 1) * pageSize} elements are retained while collecting,
+     * and the total number of elements is counted along the way. The collector supports parallel streams.
+     * Elements the comparator considers equal keep their encounter order, as with a stable sort.
+     * Null elements are accepted if the comparator supports them.
+     *
+     * @param comparator The ordering of the elements
+     * @param pageNumber The desired page number (zero-based)
+     * @param pageSize The page size; zero or negative collects all elements into a single page
+     * @param <T> The type of elements in the stream
+     * @return A collector producing the requested page of the sorted elements
+     * @throws IllegalArgumentException if the page number is negative
+     */
+    public static <T> Collector<T, ?, Page<T>> toPage(Comparator<? super T> comparator, int pageNumber, int pageSize) {
+        Objects.requireNonNull(comparator, "Comparator must not be null");
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        if (pageSize <= 0) {
+            return Collectors.collectingAndThen(Collectors.toList(), list -> paginate(list, comparator, 0, 0));
+        }
+
+        int limit = (int) Math.min(((long) pageNumber + 1) * pageSize, Integer.MAX_VALUE - 8);
+        return Collector.of(
+                () -> new TopKSelector<T>(comparator, limit),
+                TopKSelector::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                selector -> selector.count() == 0 ? PageUtils.<T>empty() : selector.toPage(pageNumber, pageSize));
+    }
+
+    /**
+     * Merges pages coming from several data sources, such as shards or partitions, into one global page.
+     * Every source is queried concurrently on virtual threads for its first {@code (pageNumber + 1) * pageSize}
+     * elements, which must be sorted with the same comparator, and the results are combined with a k-way merge.
+     * The total number of elements of the merged page is the sum of the totals reported by the sources.
+     * Every source must return all the requested elements it has: a source that caps its page size
+     * below {@code (pageNumber + 1) * pageSize} cannot be merged correctly.
+     *
+     * @param sources The paged queries of each data source
+     * @param comparator The ordering shared by all data sources
+     * @param pageNumber The desired page number (zero-based)
+     * @param pageSize The page size
+     * @param <T> The type of elements in the page
+     * @return The requested page of the merged elements
+     * @throws IllegalArgumentException if the page number is negative, the page size is not positive,
+     *                                  or the requested page is too deep to be merged
+     * @throws IllegalStateException if a source returns fewer elements than requested and available
+     */
+    public static <T> Page<T> merge(List<? extends PageQuery<? extends T>> sources, Comparator<? super T> comparator,
+                                    int pageNumber, int pageSize) {
+        Objects.requireNonNull(comparator, "Comparator must not be null");
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (sources == null || sources.isEmpty()) {
+            return empty();
+        }
+        return PageMerger.merge(sources, comparator, pageNumber, pageSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> sortedCopy(List<T> list, Comparator<? super T> comparator) {
+        T[] elements = (T[]) list.toArray();
+        if (elements.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(elements, comparator);
+        } else {
+            Arrays.sort(elements, comparator);
+        }
+        return new ArrayList<>(Arrays.asList(elements));
+    }
+}
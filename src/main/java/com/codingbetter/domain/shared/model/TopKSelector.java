@@ -0,0 +1,126 @@
+package com.codingbetter.domain.shared.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded heap that keeps the smallest elements offered to it, according to a comparator,
+ * while counting every element it has seen.
+ * Elements the comparator considers equal are ordered by the position at which they were offered,
+ * so that the selection matches a stable sort of the input and consecutive pages never overlap.
+ * Used by PageUtils to build sorted pages without sorting the complete input.
+ *
+ * @param <T> The type of the selected elements
+ */
+final class TopKSelector<T> {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final Comparator<Ranked<T>> ordering;
+    private final int limit;
+    private final PriorityQueue<Ranked<T>> heap;
+    private long count;
+
+    /**
+     * Creates a selector that keeps at most {@code limit} elements.
+     *
+     * @param comparator The ordering of the elements
+     * @param limit The maximum number of elements kept
+     */
+    TopKSelector(Comparator<? super T> comparator, int limit) {
+        this.ordering = Comparator.<Ranked<T>, T>comparing(ranked -> ranked.element, comparator)
+                .thenComparingLong(ranked -> ranked.position);
+        this.limit = limit;
+        // Reversed ordering: the root is the largest kept element, the first one to be evicted
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, MAX_INITIAL_CAPACITY)), ordering.reversed());
+    }
+
+    /**
+     * Offers an element to the selector.
+     *
+     * @param element The element to be offered, which may be null if the comparator supports it
+     */
+    void add(T element) {
+        keep(new Ranked<>(element, count++));
+    }
+
+    /**
+     * Merges the elements kept by another selector into this one.
+     * Used as the combiner of parallel reductions: the other selector must have seen
+     * the elements that follow the ones seen by this selector.
+     *
+     * @param other The selector to be merged
+     */
+    void addAll(TopKSelector<T> other) {
+        long offset = count;
+        count += other.count;
+        for (Ranked<T> ranked : other.heap) {
+            keep(new Ranked<>(ranked.element, offset + ranked.position));
+        }
+    }
+
+    /**
+     * Returns the total number of elements offered, including the discarded ones.
+     * @return The number of elements offered
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * Returns the kept elements in ascending order.
+     * @return A new list with the kept elements
+     */
+    List<T> toSortedList() {
+        List<Ranked<T>> kept = new ArrayList<>(heap);
+        kept.sort(ordering);
+        List<T> sorted = new ArrayList<>(kept.size());
+        for (Ranked<T> ranked : kept) {
+            sorted.add(ranked.element);
+        }
+        return sorted;
+    }
+
+    /**
+     * Builds the requested page from the kept elements.
+     * The selector must have been created with a limit of at least {@code (pageNumber + 1) * pageSize}.
+     *
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @return The requested page
+     */
+    Page<T> toPage(int pageNumber, int pageSize) {
+        List<T> sorted = toSortedList();
+        long startIndex = (long) pageNumber * pageSize;
+        if (startIndex >= sorted.size()) {
+            return PageUtils.of(Collections.emptyList(), count, pageNumber, pageSize);
+        }
+        int endIndex = (int) Math.min(startIndex + pageSize, sorted.size());
+        return PageUtils.of(new ArrayList<>(sorted.subList((int) startIndex, endIndex)), count, pageNumber, pageSize);
+    }
+
+    private void keep(Ranked<T> ranked) {
+        if (heap.size() < limit) {
+            heap.offer(ranked);
+        } else if (limit > 0 && ordering.compare(ranked, heap.peek()) < 0) {
+            heap.poll();
+            heap.offer(ranked);
+        }
+    }
+
+    /**
+     * Element with the position at which it was offered.
+     */
+    private static final class Ranked<T> {
+        private final T element;
+        private final long position;
+
+        Ranked(T element, long position) {
+            this.element = element;
+            this.position = position;
+        }
+    }
+}
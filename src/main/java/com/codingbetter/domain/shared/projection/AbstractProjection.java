@@ -0,0 +1,74 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.codingbetter.domain.shared.event.DomainEvent;
+
+/**
+ * Abstract implementation of the Projection interface backed by an IndexedView.
+ * Subclasses declare their indexes on the view in their constructor and implement
+ * {@link #apply(DomainEvent)} by updating the view. Snapshots contain the rows of the view,
+ * which must be serializable to be stored in a checkpoint; indexes are rebuilt on restore.
+ *
+ * @param <K> The type of the row keys
+ * @param <V> The type of the rows
+ */
+public abstract class AbstractProjection<K, V> implements Projection {
+
+    private final String name;
+    private final Set<Class<? extends DomainEvent>> eventTypes;
+    private final IndexedView<K, V> view = new IndexedView<>();
+
+    /**
+     * Creates a projection.
+     *
+     * @param name The unique name of the projection
+     * @param eventTypes The event types folded by the projection
+     */
+    protected AbstractProjection(String name, Set<Class<? extends DomainEvent>> eventTypes) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.eventTypes = Set.copyOf(eventTypes);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * Returns the view of the projection, to be queried by readers.
+     * @return The view
+     */
+    public IndexedView<K, V> getView() {
+        return view;
+    }
+
+    @Override
+    public Serializable snapshot() {
+        return serializable(view.snapshot());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restore(Serializable state) {
+        view.restore((Map<K, V>) state);
+    }
+
+    /**
+     * Returns the rows as a serializable map, copying them only if the given map is not serializable.
+     * @param rows The rows by key
+     * @return The rows, as a serializable map
+     */
+    static Serializable serializable(Map<?, ?> rows) {
+        return rows instanceof Serializable serializableRows ? serializableRows : new HashMap<>(rows);
+    }
+}
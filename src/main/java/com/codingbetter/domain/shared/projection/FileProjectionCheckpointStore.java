@@ -0,0 +1,73 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Implementation of ProjectionCheckpointStore that keeps one file per projection in a directory,
+ * using Java serialization. Checkpoints are written to a temporary file and atomically moved into place,
+ * so a crash while saving never corrupts the previous checkpoint.
+ */
+public class FileProjectionCheckpointStore implements ProjectionCheckpointStore {
+
+    private final Path directory;
+
+    /**
+     * Creates a store.
+     * @param directory The directory in which checkpoint files are kept
+     */
+    public FileProjectionCheckpointStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the checkpoint directory", e);
+        }
+    }
+
+    @Override
+    public void save(ProjectionCheckpoint checkpoint) {
+        Path file = fileOf(checkpoint.getProjectionName());
+        try {
+            Path temporary = Files.createTempFile(directory, checkpoint.getProjectionName(), ".tmp");
+            try {
+                try (ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    output.writeObject(checkpoint);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the checkpoint of " + checkpoint.getProjectionName(), e);
+        }
+    }
+
+    @Override
+    public Optional<ProjectionCheckpoint> load(String projectionName) {
+        Path file = fileOf(projectionName);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return Optional.of((ProjectionCheckpoint) input.readObject());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the checkpoint of " + projectionName, e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not deserialize the checkpoint of " + projectionName, e);
+        }
+    }
+
+    private Path fileOf(String projectionName) {
+        return directory.resolve(projectionName + ".checkpoint");
+    }
+}
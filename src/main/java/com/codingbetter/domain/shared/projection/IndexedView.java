@@ -0,0 +1,357 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.codingbetter.domain.shared.model.Page;
+import com.codingbetter.domain.shared.model.PageUtils;
+
+/**
+ * In-memory view of a projection: rows by key, with hash and sorted secondary indexes.
+ * Designed for a single writer, the ProjectionEngine, and any number of concurrent readers.
+ * Queries return Page instances and only look up the rows of the requested page;
+ * rows whose indexed attribute changes concurrently are skipped rather than returned twice.
+ * Rows with a null indexed attribute are not indexed.
+ *
+ * @param <K> The type of the row keys
+ * @param <V> The type of the rows
+ */
+public class IndexedView<K, V> {
+
+    private final ConcurrentMap<K, V> rows = new ConcurrentHashMap<>();
+    private final Map<String, Index<K, V>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a hash index, for equality queries on an attribute of the rows.
+     *
+     * @param name The name of the index
+     * @param attribute The function extracting the indexed attribute from a row
+     */
+    public void addHashIndex(String name, Function<? super V, ?> attribute) {
+        addIndex(name, new Index<>(attribute, new ConcurrentHashMap<>(), null));
+    }
+
+    /**
+     * Adds a sorted index, for range and ordered queries on an attribute of the rows.
+     *
+     * @param name The name of the index
+     * @param attribute The function extracting the indexed attribute from a row
+     * @param <A> The type of the indexed attribute
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Comparable<? super A>> void addSortedIndex(String name, Function<? super V, ? extends A> attribute) {
+        Comparator<Object> ordering = (Comparator<Object>) (Comparator<?>) Comparator.<A>naturalOrder();
+        addIndex(name, new Index<>(attribute, new ConcurrentSkipListMap<>(ordering), ordering));
+    }
+
+    /**
+     * Returns a row.
+     * @param key The key of the row
+     * @return The row, or null if there is none
+     */
+    public V get(K key) {
+        return rows.get(key);
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return The number of rows
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Inserts or replaces a row, updating the indexes.
+     *
+     * @param key The key of the row
+     * @param value The row
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Key must not be null");
+        Objects.requireNonNull(value, "Value must not be null");
+        for (Index<K, V> index : indexes.values()) {
+            index.add(key, value);
+        }
+        V previous = rows.put(key, value);
+        if (previous != null) {
+            for (Index<K, V> index : indexes.values()) {
+                index.removeIfChanged(key, previous, value);
+            }
+        }
+    }
+
+    /**
+     * Removes a row, updating the indexes.
+     *
+     * @param key The key of the row
+     * @return The removed row, or null if there was none
+     */
+    public V remove(K key) {
+        V previous = rows.remove(key);
+        if (previous != null) {
+            for (Index<K, V> index : indexes.values()) {
+                index.remove(key, previous);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Computes a new version of a row from its current version.
+     *
+     * @param key The key of the row
+     * @param updater The function receiving the current row, or null if there is none,
+     *                and returning the new row, or null to remove it
+     * @return The new row, or null if it was removed
+     */
+    public V compute(K key, UnaryOperator<V> updater) {
+        V updated = updater.apply(rows.get(key));
+        if (updated == null) {
+            remove(key);
+        } else {
+            put(key, updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Returns a page of all rows, in no particular order.
+     *
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @return The requested page
+     */
+    public Page<V> findAll(int pageNumber, int pageSize) {
+        validatePage(pageNumber, pageSize);
+        long startIndex = (long) pageNumber * pageSize;
+        long position = 0;
+        List<V> content = new ArrayList<>();
+        for (V row : rows.values()) {
+            if (content.size() == pageSize) {
+                break;
+            }
+            if (position++ >= startIndex) {
+                content.add(row);
+            }
+        }
+        return PageUtils.of(content, rows.size(), pageNumber, pageSize);
+    }
+
+    /**
+     * Returns a page of the rows whose indexed attribute equals the given value.
+     *
+     * @param indexName The name of a hash or sorted index
+     * @param value The value of the attribute
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @return The requested page
+     */
+    public Page<V> findBy(String indexName, Object value, int pageNumber, int pageSize) {
+        validatePage(pageNumber, pageSize);
+        Index<K, V> index = index(indexName);
+        Set<K> keys = value == null ? null : index.entries.get(value);
+        if (keys == null) {
+            return PageUtils.of(new ArrayList<>(), 0, pageNumber, pageSize);
+        }
+        return collect(index, Map.of(value, keys).entrySet(), keys.size(), pageNumber, pageSize);
+    }
+
+    /**
+     * Returns a page of the rows whose indexed attribute is within a range, ordered by the attribute.
+     *
+     * @param indexName The name of a sorted index
+     * @param from The inclusive lower bound, or null for no lower bound
+     * @param to The exclusive upper bound, or null for no upper bound
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @param <A> The type of the indexed attribute
+     * @return The requested page
+     */
+    public <A extends Comparable<? super A>> Page<V> findRange(String indexName, A from, A to, int pageNumber, int pageSize) {
+        validatePage(pageNumber, pageSize);
+        ConcurrentNavigableMap<Object, Set<K>> entries = sortedEntries(indexName);
+        if (from != null && to != null) {
+            entries = entries.subMap(from, true, to, false);
+        } else if (from != null) {
+            entries = entries.tailMap(from, true);
+        } else if (to != null) {
+            entries = entries.headMap(to, false);
+        }
+        return collect(index(indexName), entries.entrySet(), -1, pageNumber, pageSize);
+    }
+
+    /**
+     * Returns a page of the indexed rows, ordered by the attribute of a sorted index.
+     *
+     * @param indexName The name of a sorted index
+     * @param descending true for descending order, false for ascending order
+     * @param pageNumber The page number (zero-based)
+     * @param pageSize The page size
+     * @return The requested page
+     */
+    public Page<V> findAllOrderedBy(String indexName, boolean descending, int pageNumber, int pageSize) {
+        validatePage(pageNumber, pageSize);
+        ConcurrentNavigableMap<Object, Set<K>> entries = sortedEntries(indexName);
+        if (descending) {
+            entries = entries.descendingMap();
+        }
+        Index<K, V> index = index(indexName);
+        return collect(index, entries.entrySet(), index.size.get(), pageNumber, pageSize);
+    }
+
+    /**
+     * Returns a copy of all rows.
+     * @return The rows by key
+     */
+    public Map<K, V> snapshot() {
+        return new HashMap<>(rows);
+    }
+
+    /**
+     * Replaces all rows, rebuilding the indexes.
+     * @param state The rows by key
+     */
+    public void restore(Map<K, V> state) {
+        rows.clear();
+        for (Index<K, V> index : indexes.values()) {
+            index.clear();
+        }
+        state.forEach(this::put);
+    }
+
+    private void addIndex(String name, Index<K, V> index) {
+        Objects.requireNonNull(name, "Index name must not be null");
+        if (indexes.putIfAbsent(name, index) != null) {
+            throw new IllegalArgumentException("Index already exists: " + name);
+        }
+        rows.forEach(index::add);
+    }
+
+    private Index<K, V> index(String name) {
+        Index<K, V> index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown index: " + name);
+        }
+        return index;
+    }
+
+    private ConcurrentNavigableMap<Object, Set<K>> sortedEntries(String name) {
+        if (!(index(name).entries instanceof ConcurrentNavigableMap<Object, Set<K>> sorted)) {
+            throw new IllegalArgumentException("Index is not sorted: " + name);
+        }
+        return sorted;
+    }
+
+    private Page<V> collect(Index<K, V> index, Collection<Map.Entry<Object, Set<K>>> groups, long knownTotal,
+                            int pageNumber, int pageSize) {
+        long startIndex = (long) pageNumber * pageSize;
+        long position = 0;
+        List<V> content = new ArrayList<>();
+        for (Map.Entry<Object, Set<K>> group : groups) {
+            Set<K> keys = group.getValue();
+            if (content.size() == pageSize || position + keys.size() <= startIndex) {
+                // Outside the requested window: only counted, rows are not looked up
+                if (knownTotal >= 0 && content.size() == pageSize) {
+                    break;
+                }
+                position += keys.size();
+                continue;
+            }
+            for (K key : keys) {
+                V row = rows.get(key);
+                if (row == null || !index.matches(row, group.getKey())) {
+                    continue;
+                }
+                if (position >= startIndex && content.size() < pageSize) {
+                    content.add(row);
+                }
+                position++;
+            }
+        }
+        return PageUtils.of(content, knownTotal >= 0 ? knownTotal : position, pageNumber, pageSize);
+    }
+
+    private static void validatePage(int pageNumber, int pageSize) {
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    /**
+     * Secondary index from attribute values to row keys.
+     * Attribute values are compared like the keys of the entries: with the ordering of sorted indexes,
+     * which may disagree with equals (as for BigDecimal), and with equals otherwise.
+     */
+    private static final class Index<K, V> {
+        private final Function<? super V, ?> attribute;
+        private final ConcurrentMap<Object, Set<K>> entries;
+        private final Comparator<Object> ordering;
+        private final AtomicLong size = new AtomicLong();
+
+        Index(Function<? super V, ?> attribute, ConcurrentMap<Object, Set<K>> entries, Comparator<Object> ordering) {
+            this.attribute = attribute;
+            this.entries = entries;
+            this.ordering = ordering;
+        }
+
+        void add(K key, V row) {
+            Object value = attribute.apply(row);
+            if (value != null && entries.computeIfAbsent(value, ignored -> ConcurrentHashMap.newKeySet()).add(key)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(K key, V row) {
+            Object value = attribute.apply(row);
+            if (value == null) {
+                return;
+            }
+            Set<K> keys = entries.get(value);
+            if (keys != null && keys.remove(key)) {
+                size.decrementAndGet();
+                if (keys.isEmpty()) {
+                    entries.remove(value, keys);
+                }
+            }
+        }
+
+        void removeIfChanged(K key, V previous, V current) {
+            if (!sameValue(attribute.apply(previous), attribute.apply(current))) {
+                remove(key, previous);
+            }
+        }
+
+        boolean matches(V row, Object value) {
+            return sameValue(attribute.apply(row), value);
+        }
+
+        private boolean sameValue(Object left, Object right) {
+            if (left == null || right == null) {
+                return left == right;
+            }
+            return ordering != null ? ordering.compare(left, right) == 0 : left.equals(right);
+        }
+
+        void clear() {
+            entries.clear();
+            size.set(0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import com.codingbetter.domain.shared.event.DomainEvent;
+
+/**
+ * Interface that defines a projection, also known as a read model.
+ * A projection incrementally folds the domain events of the types it declares
+ * into a view optimized for queries.
+ */
+public interface Projection {
+
+    /**
+     * Returns the unique name of the projection, used to identify its checkpoints.
+     * @return The name of the projection
+     */
+    String getName();
+
+    /**
+     * Returns the event types folded by this projection. Subtypes of these types are folded as well.
+     * @return The event types
+     */
+    Set<Class<? extends DomainEvent>> getEventTypes();
+
+    /**
+     * Folds a domain event into the view of the projection.
+     * Calls are serialized by the ProjectionEngine.
+     * @param event The domain event
+     */
+    void apply(DomainEvent event);
+
+    /**
+     * Returns a serializable copy of the state of the view.
+     * @return The state of the view
+     */
+    Serializable snapshot();
+
+    /**
+     * Replaces the state of the view with a previously taken snapshot.
+     * @param state The state of the view
+     */
+    void restore(Serializable state);
+}
@@ -0,0 +1,66 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Snapshot of the state of a projection, together with the last event it folded.
+ * After restoring a checkpoint, only the events published after that event need to be folded again.
+ */
+public final class ProjectionCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String projectionName;
+    private final UUID lastEventId;
+    private final Serializable state;
+    private final Instant createdAt;
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param projectionName The name of the projection
+     * @param lastEventId The identifier of the last folded event, or null if no event was folded
+     * @param state The state of the view of the projection
+     * @param createdAt The instant at which the checkpoint was taken
+     */
+    public ProjectionCheckpoint(String projectionName, UUID lastEventId, Serializable state, Instant createdAt) {
+        this.projectionName = projectionName;
+        this.lastEventId = lastEventId;
+        this.state = state;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the name of the projection.
+     * @return The name of the projection
+     */
+    public String getProjectionName() {
+        return projectionName;
+    }
+
+    /**
+     * Returns the identifier of the last folded event.
+     * @return The identifier of the last event, or null if no event was folded
+     */
+    public UUID getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the state of the view of the projection.
+     * @return The state of the view
+     */
+    public Serializable getState() {
+        return state;
+    }
+
+    /**
+     * Returns the instant at which the checkpoint was taken.
+     * @return The creation instant
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.util.Optional;
+
+/**
+ * Interface for storing projection checkpoints.
+ */
+public interface ProjectionCheckpointStore {
+
+    /**
+     * Stores a checkpoint, replacing the previous checkpoint of the same projection.
+     * @param checkpoint The checkpoint to be stored
+     */
+    void save(ProjectionCheckpoint checkpoint);
+
+    /**
+     * Loads the latest checkpoint of a projection.
+     * @param projectionName The name of the projection
+     * @return The latest checkpoint, or empty if the projection has none
+     */
+    Optional<ProjectionCheckpoint> load(String projectionName);
+}
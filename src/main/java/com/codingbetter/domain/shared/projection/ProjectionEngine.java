@@ -0,0 +1,137 @@
+package com.codingbetter.domain.shared.projection;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.codingbetter.domain.shared.event.DomainEvent;
+import com.codingbetter.domain.shared.event.DomainEventPublisher;
+
+/**
+ * Engine that incrementally folds domain events into the registered projections.
+ * It is a DomainEventPublisher, so it can receive events wherever a publisher is expected.
+ * Each event is routed only to the projections that declare its type; events are folded
+ * into a projection one at a time, while its view remains available to concurrent readers.
+ * Checkpoints store the state of each projection with the last event it folded, and are
+ * restored when the projection is registered, so that only newer events need to be folded again.
+ */
+public class ProjectionEngine implements DomainEventPublisher {
+
+    private final ProjectionCheckpointStore checkpointStore;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, List<Registration>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an engine.
+     * @param checkpointStore The store of projection checkpoints
+     */
+    public ProjectionEngine(ProjectionCheckpointStore checkpointStore) {
+        this.checkpointStore = Objects.requireNonNull(checkpointStore, "Checkpoint store must not be null");
+    }
+
+    /**
+     * Registers a projection, restoring its latest checkpoint if there is one.
+     *
+     * @param projection The projection
+     * @throws IllegalArgumentException if a projection with the same name is already registered
+     */
+    public synchronized void register(Projection projection) {
+        Objects.requireNonNull(projection, "Projection must not be null");
+        for (Registration registration : registrations) {
+            if (registration.projection.getName().equals(projection.getName())) {
+                throw new IllegalArgumentException("Projection already registered: " + projection.getName());
+            }
+        }
+        Registration registration = new Registration(projection);
+        checkpointStore.load(projection.getName()).ifPresent(checkpoint -> {
+            projection.restore(checkpoint.getState());
+            registration.lastEventId = checkpoint.getLastEventId();
+        });
+        registrations.add(registration);
+        routes.clear();
+    }
+
+    /**
+     * Folds the event into every projection that declares its type.
+     * @param event The domain event
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        Objects.requireNonNull(event, "Event must not be null");
+        for (Registration registration : routes.computeIfAbsent(event.getClass(), this::route)) {
+            registration.lock.lock();
+            try {
+                registration.projection.apply(event);
+                registration.lastEventId = event.getId();
+            } finally {
+                registration.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stores a checkpoint of every registered projection.
+     */
+    public void checkpoint() {
+        for (Registration registration : registrations) {
+            Serializable state;
+            UUID lastEventId;
+            registration.lock.lock();
+            try {
+                state = registration.projection.snapshot();
+                lastEventId = registration.lastEventId;
+            } finally {
+                registration.lock.unlock();
+            }
+            checkpointStore.save(new ProjectionCheckpoint(registration.projection.getName(), lastEventId, state, Instant.now()));
+        }
+    }
+
+    /**
+     * Returns the identifier of the last event folded into a projection, including restored checkpoints.
+     * @param projectionName The name of the projection
+     * @return The identifier of the last event, or empty if none was folded
+     */
+    public Optional<UUID> getLastEventId(String projectionName) {
+        for (Registration registration : registrations) {
+            if (registration.projection.getName().equals(projectionName)) {
+                return Optional.ofNullable(registration.lastEventId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Registration> route(Class<?> eventType) {
+        List<Registration> route = new ArrayList<>();
+        for (Registration registration : registrations) {
+            for (Class<? extends DomainEvent> handledType : registration.projection.getEventTypes()) {
+                if (handledType.isAssignableFrom(eventType)) {
+                    route.add(registration);
+                    break;
+                }
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Registered projection with the lock serializing its updates.
+     */
+    private static final class Registration {
+        private final Projection projection;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile UUID lastEventId;
+
+        Registration(Projection projection) {
+            this.projection = projection;
+        }
+    }
+}
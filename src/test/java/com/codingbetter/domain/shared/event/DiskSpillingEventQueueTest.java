@@ -0,0 +1,220 @@
+package com.codingbetter.domain.shared.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskSpillingEventQueueTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldKeepEventsInMemoryWhileBelowCapacity() {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(3, directory)) {
+            List<DomainEvent> events = events(3);
+
+            // When
+            events.forEach(queue::offer);
+
+            // Then
+            assertEquals(3, queue.size());
+            assertEquals(0, queue.getDiskEventCount());
+            assertEquals(events, pollAll(queue));
+        }
+    }
+
+    @Test
+    void shouldSpillOverflowToDiskAndReadItBackInOrder() throws IOException {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(4, directory, 512)) {
+            List<DomainEvent> events = events(25);
+
+            // When
+            events.forEach(queue::offer);
+
+            // Then
+            assertEquals(25, queue.size());
+            assertEquals(21, queue.getDiskEventCount());
+            assertEquals(21, queue.getSpilledEventCount());
+            assertTrue(queue.getSpilledBytes() > 0);
+            assertTrue(countSegmentFiles() > 1, "Spilled events should be split across segment files");
+
+            // When
+            List<DomainEvent> polled = pollAll(queue);
+
+            // Then
+            assertEquals(events, polled);
+            assertEquals(21, queue.getReadBackEventCount());
+            assertEquals(queue.getSpilledBytes(), queue.getReadBackBytes());
+            assertEquals(0, countSegmentFiles(), "Fully read segment files should be deleted");
+        }
+    }
+
+    @Test
+    void shouldSpillEventsLargerThanTheWriteBuffer() {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(1, directory)) {
+            List<DomainEvent> events = List.of(new TestDomainEvent(), new LargeDomainEvent(200 * 1024),
+                    new TestDomainEvent(), new LargeDomainEvent(100 * 1024), new TestDomainEvent());
+
+            // When
+            events.forEach(queue::offer);
+
+            // Then
+            assertEquals(4, queue.getDiskEventCount());
+            List<DomainEvent> polled = pollAll(queue);
+            assertEquals(events, polled);
+            assertEquals(200 * 1024, ((LargeDomainEvent) polled.get(1)).payload.length);
+            assertEquals(queue.getSpilledBytes(), queue.getReadBackBytes());
+        }
+    }
+
+    @Test
+    void shouldPreserveOrderWhenOfferingWhileReadingBack() {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(2, directory, 1024)) {
+            List<DomainEvent> events = events(10);
+            List<DomainEvent> polled = new ArrayList<>();
+
+            // When
+            for (DomainEvent event : events) {
+                queue.offer(event);
+                if (polled.size() < 3) {
+                    polled.add(queue.poll());
+                }
+            }
+            polled.addAll(pollAll(queue));
+
+            // Then
+            assertEquals(events, polled);
+        }
+    }
+
+    @Test
+    void shouldRemoveDrainedEventsOnlyAfterSuccessfulPublication() {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(2, directory)) {
+            List<DomainEvent> events = events(5);
+            events.forEach(queue::offer);
+            List<DomainEvent> published = new ArrayList<>();
+
+            // When
+            assertThrows(IllegalStateException.class, () -> queue.drainTo(event -> {
+                throw new IllegalStateException("Broker unavailable");
+            }, 10));
+
+            // Then
+            assertEquals(5, queue.size());
+
+            // When
+            int drained = 0;
+            while (queue.size() > 0) {
+                drained += queue.drainTo(published::add, 10);
+            }
+
+            // Then
+            assertEquals(5, drained);
+            assertEquals(events, published);
+        }
+    }
+
+    @Test
+    void shouldWaitForEventsWhenPollingWithTimeout() throws InterruptedException {
+        // Given
+        try (DiskSpillingEventQueue queue = new DiskSpillingEventQueue(2, directory)) {
+            DomainEvent event = new TestDomainEvent();
+
+            // When
+            new Thread(() -> queue.offer(event)).start();
+
+            // Then
+            assertEquals(event, queue.poll(5, TimeUnit.SECONDS));
+            assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void shouldRejectEventsAfterClose() throws IOException {
+        // Given
+        DiskSpillingEventQueue queue = new DiskSpillingEventQueue(1, directory);
+        events(3).forEach(queue::offer);
+
+        // When
+        queue.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> queue.offer(new TestDomainEvent()));
+        assertEquals(0, countSegmentFiles());
+    }
+
+    private long countSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+
+    private static List<DomainEvent> pollAll(DiskSpillingEventQueue queue) {
+        List<DomainEvent> polled = new ArrayList<>();
+        DomainEvent event;
+        while ((event = queue.poll()) != null) {
+            polled.add(event);
+        }
+        return polled;
+    }
+
+    private static List<DomainEvent> events(int count) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new TestDomainEvent());
+        }
+        return events;
+    }
+
+    private static class LargeDomainEvent extends TestDomainEvent {
+        private static final long serialVersionUID = 1L;
+        private final byte[] payload;
+
+        LargeDomainEvent(int size) {
+            this.payload = new byte[size];
+        }
+    }
+
+    private static class TestDomainEvent implements DomainEvent {
+        private static final long serialVersionUID = 1L;
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TestDomainEvent event && id.equals(event.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
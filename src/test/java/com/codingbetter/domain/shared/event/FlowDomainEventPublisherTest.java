@@ -0,0 +1,247 @@
+package com.codingbetter.domain.shared.event;
+
+import com.codingbetter.domain.shared.event.FlowDomainEventPublisher.OverflowStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowDomainEventPublisherTest {
+
+    @Test
+    void shouldHonourRequestedDemand() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(10, OverflowStrategy.ERROR, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+        List<DomainEvent> events = events(5);
+
+        // When
+        events.forEach(publisher::publish);
+        subscriber.request(2);
+
+        // Then
+        assertEquals(events.subList(0, 2), subscriber.received);
+
+        // When
+        subscriber.request(10);
+
+        // Then
+        assertEquals(events, subscriber.received);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenBufferIsFull() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(2, OverflowStrategy.DROP_OLDEST, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+        List<DomainEvent> events = events(4);
+
+        // When
+        events.forEach(publisher::publish);
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        assertEquals(events.subList(2, 4), subscriber.received);
+    }
+
+    @Test
+    void shouldKeepLatestEventWhenBufferIsFull() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(2, OverflowStrategy.LATEST, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+        List<DomainEvent> events = events(4);
+
+        // When
+        events.forEach(publisher::publish);
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        assertEquals(Arrays.asList(events.get(0), events.get(3)), subscriber.received);
+    }
+
+    @Test
+    void shouldSignalErrorWhenBufferOverflows() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(1, OverflowStrategy.ERROR, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // When
+        events(2).forEach(publisher::publish);
+
+        // Then
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        assertTrue(subscriber.received.isEmpty());
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    @Test
+    void shouldSignalErrorOnNonPositiveRequest() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(1, OverflowStrategy.ERROR, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // When
+        subscriber.request(0);
+
+        // Then
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    }
+
+    @Test
+    void shouldCompleteAfterBufferedEventsOnClose() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(10, OverflowStrategy.ERROR, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+        List<DomainEvent> events = events(3);
+        events.forEach(publisher::publish);
+
+        // When
+        publisher.close();
+
+        // Then
+        assertFalse(subscriber.completed);
+
+        // When
+        subscriber.request(3);
+
+        // Then
+        assertEquals(events, subscriber.received);
+        assertTrue(subscriber.completed);
+        assertThrows(IllegalStateException.class, () -> publisher.publish(events.get(0)));
+    }
+
+    @Test
+    void shouldStopDeliveringAfterCancel() {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(10, OverflowStrategy.ERROR, Runnable::run);
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        // When
+        subscriber.subscription.cancel();
+        events(2).forEach(publisher::publish);
+        subscriber.request(2);
+
+        // Then
+        assertTrue(subscriber.received.isEmpty());
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    @Test
+    void shouldBlockPublisherUntilSubscriberHasCapacity() throws InterruptedException {
+        // Given
+        FlowDomainEventPublisher publisher = new FlowDomainEventPublisher(1, OverflowStrategy.BUFFER);
+        CountDownLatch received = new CountDownLatch(3);
+        TestSubscriber subscriber = new TestSubscriber(received);
+        publisher.subscribe(subscriber);
+        List<DomainEvent> events = events(3);
+        Thread producer = new Thread(() -> events.forEach(publisher::publish));
+
+        // When
+        producer.start();
+        producer.join(200);
+
+        // Then
+        assertTrue(producer.isAlive(), "The producer should wait for subscriber capacity");
+
+        // When
+        subscriber.request(3);
+
+        // Then
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(events, subscriber.snapshot());
+    }
+
+    private static List<DomainEvent> events(int count) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now()));
+        }
+        return events;
+    }
+
+    // Helper classes for testing
+    private static class TestSubscriber implements Flow.Subscriber<DomainEvent> {
+        private final List<DomainEvent> received = new ArrayList<>();
+        private final CountDownLatch latch;
+        private Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        TestSubscriber() {
+            this(new CountDownLatch(0));
+        }
+
+        TestSubscriber(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        synchronized List<DomainEvent> snapshot() {
+            return new ArrayList<>(received);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(DomainEvent item) {
+            synchronized (this) {
+                received.add(item);
+            }
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static class TestDomainEvent implements DomainEvent {
+        private final UUID id;
+        private final LocalDateTime occurredOn;
+
+        public TestDomainEvent(UUID id, LocalDateTime occurredOn) {
+            this.id = id;
+            this.occurredOn = occurredOn;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.codingbetter.domain.shared.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientDomainEventPublisherTest {
+
+    private static final RetryPolicy FAST_RETRY = RetryPolicy.exponentialBackoff(3, Duration.ofMillis(5), Duration.ofMillis(20));
+
+    @Test
+    void shouldPublishEventsInBatches() {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(0);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            List<DomainEvent> events = events(5);
+
+            // When
+            publisher.publishAll(events);
+
+            // Then
+            assertEquals(events, delegate.published());
+            assertEquals(1, delegate.batches.size());
+            assertEquals(0, publisher.getPendingCount());
+        }
+    }
+
+    @Test
+    void shouldRetryFailedEventsWithoutPropagatingFailure() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(2);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            DomainEvent event = new TestDomainEvent();
+
+            // When
+            assertDoesNotThrow(() -> publisher.publish(event));
+
+            // Then
+            awaitUntil(() -> !delegate.published().isEmpty());
+            assertEquals(Collections.singletonList(event), delegate.published());
+            assertEquals(3, delegate.calls.get());
+            assertEquals(0, deadLetters.size());
+        }
+    }
+
+    @Test
+    void shouldMoveEventToDeadLettersAfterMaxAttemptsAndReplayIt() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(3);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            DomainEvent event = new TestDomainEvent();
+
+            // When
+            publisher.publish(event);
+            awaitUntil(() -> deadLetters.size() == 1);
+
+            // Then
+            assertTrue(delegate.published().isEmpty());
+            assertEquals(0, publisher.getPendingCount());
+
+            // When
+            assertEquals(1, publisher.replayDeadLetters());
+
+            // Then
+            assertEquals(Collections.singletonList(event), delegate.published());
+            assertEquals(0, deadLetters.size());
+        }
+    }
+
+    @Test
+    void shouldRetryEachFailedDeliveryOfTheSameEvent() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            DomainEvent event = new TestDomainEvent();
+
+            // When
+            publisher.publishAll(Arrays.asList(event, event));
+
+            // Then
+            awaitUntil(() -> delegate.published().size() == 2);
+            assertEquals(Arrays.asList(event, event), delegate.published());
+            assertEquals(0, publisher.getPendingCount());
+        }
+    }
+
+    @Test
+    void shouldUseRetryPolicyRegisteredForEventType() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            publisher.registerRetryPolicy(TestDomainEvent.class, RetryPolicy.noRetry());
+
+            // When
+            publisher.publish(new TestDomainEvent());
+
+            // Then
+            assertEquals(1, deadLetters.size());
+            assertEquals(1, deadLetters.drainAll().get(0).getAttempts());
+        }
+    }
+
+    @Test
+    void shouldUseRetryPolicyRegisteredForEventInterface() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            publisher.registerRetryPolicy(UrgentDomainEvent.class, RetryPolicy.noRetry());
+
+            // When
+            publisher.publish(new TestUrgentDomainEvent());
+
+            // Then
+            assertEquals(1, deadLetters.size());
+            assertEquals(1, deadLetters.drainAll().get(0).getAttempts());
+        }
+    }
+
+    @Test
+    void shouldApplyRetryPolicyRegisteredAfterEventTypeWasResolved() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(2);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            publisher.publish(new TestUrgentDomainEvent());
+
+            // When
+            publisher.registerRetryPolicy(UrgentDomainEvent.class, RetryPolicy.noRetry());
+
+            // Then
+            awaitUntil(() -> deadLetters.size() == 1);
+            assertEquals(2, deadLetters.drainAll().get(0).getAttempts());
+        }
+    }
+
+    @Test
+    void shouldPreferRetryPolicyOfClassOverPolicyOfInterface() throws InterruptedException {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            publisher.registerRetryPolicy(UrgentDomainEvent.class, RetryPolicy.noRetry());
+            publisher.registerRetryPolicy(TestDomainEvent.class, FAST_RETRY);
+            DomainEvent event = new TestUrgentDomainEvent();
+
+            // When
+            publisher.publish(event);
+
+            // Then
+            awaitUntil(() -> delegate.published().size() == 1);
+            assertEquals(Collections.singletonList(event), delegate.published());
+            assertEquals(0, deadLetters.size());
+        }
+    }
+
+    @Test
+    void shouldShrinkBatchSizeOnFailureAndGrowItOnSuccess() {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = new ResilientDomainEventPublisher(
+                delegate, RetryPolicy.noRetry(), deadLetters, 2, 16, Runnable::run)) {
+
+            // When
+            publisher.publishAll(events(3));
+
+            // Then
+            assertEquals(8, publisher.getBatchSize());
+            assertEquals(3, deadLetters.size());
+
+            // When
+            publisher.publishAll(events(3));
+
+            // Then
+            assertEquals(10, publisher.getBatchSize());
+        }
+    }
+
+    @Test
+    void shouldRetryEventsWhenUnderlyingPublisherThrowsError() throws InterruptedException {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        List<DomainEvent> published = Collections.synchronizedList(new ArrayList<>());
+        DomainEventPublisher delegate = new DomainEventPublisher() {
+            @Override
+            public void publish(DomainEvent event) {
+                publishAll(Collections.singletonList(event));
+            }
+
+            @Override
+            public void publishAll(List<? extends DomainEvent> events) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new AssertionError("Unexpected broker state");
+                }
+                published.addAll(events);
+            }
+        };
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            List<DomainEvent> events = events(3);
+
+            // When
+            assertDoesNotThrow(() -> publisher.publish(events.get(0)));
+            publisher.publish(events.get(1));
+            publisher.publish(events.get(2));
+
+            // Then
+            awaitUntil(() -> published.size() == 3);
+            assertTrue(published.containsAll(events));
+            assertEquals(0, publisher.getPendingCount());
+            assertEquals(0, deadLetters.size());
+        }
+    }
+
+    @Test
+    void shouldRequeueRestOfBatchWhenDeadLetterStoreFails() {
+        // Given
+        FlakyPublisher delegate = new FlakyPublisher(1);
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        AtomicInteger additions = new AtomicInteger();
+        DeadLetterStore failingOnce = new DeadLetterStore() {
+            @Override
+            public void add(DeadLetter deadLetter) {
+                if (additions.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Dead letter store unavailable");
+                }
+                deadLetters.add(deadLetter);
+            }
+
+            @Override
+            public List<DeadLetter> drainAll() {
+                return deadLetters.drainAll();
+            }
+
+            @Override
+            public int size() {
+                return deadLetters.size();
+            }
+        };
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        List<Throwable> uncaught = new ArrayList<>();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try (ResilientDomainEventPublisher publisher = new ResilientDomainEventPublisher(
+                delegate, RetryPolicy.noRetry(), failingOnce, 1, 100, Runnable::run)) {
+            List<DomainEvent> events = events(3);
+            publisher.publishAll(events);
+            assertEquals(1, uncaught.size());
+            assertEquals(3, publisher.getPendingCount());
+
+            // When
+            DomainEvent next = new TestDomainEvent();
+            publisher.publish(next);
+
+            // Then
+            List<DomainEvent> expected = new ArrayList<>(events);
+            expected.add(next);
+            assertEquals(expected, delegate.published());
+            assertEquals(0, publisher.getPendingCount());
+            assertEquals(0, deadLetters.size());
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+    }
+
+    @Test
+    void shouldRequeueBatchAndRethrowVirtualMachineError() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        List<DomainEvent> published = new ArrayList<>();
+        DomainEventPublisher delegate = new DomainEventPublisher() {
+            @Override
+            public void publish(DomainEvent event) {
+                publishAll(Collections.singletonList(event));
+            }
+
+            @Override
+            public void publishAll(List<? extends DomainEvent> events) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new OutOfMemoryError("Simulated");
+                }
+                published.addAll(events);
+            }
+        };
+        InMemoryDeadLetterStore deadLetters = new InMemoryDeadLetterStore(10);
+        try (ResilientDomainEventPublisher publisher = newPublisher(delegate, deadLetters)) {
+            DomainEvent first = new TestDomainEvent();
+            DomainEvent second = new TestDomainEvent();
+
+            // When
+            assertThrows(OutOfMemoryError.class, () -> publisher.publish(first));
+            publisher.publish(second);
+
+            // Then
+            assertEquals(Arrays.asList(first, second), published);
+            assertEquals(0, publisher.getPendingCount());
+            assertEquals(0, deadLetters.size());
+        }
+    }
+
+    @Test
+    void shouldRejectEventsAfterClose() {
+        // Given
+        ResilientDomainEventPublisher publisher = newPublisher(new FlakyPublisher(0), new InMemoryDeadLetterStore(10));
+
+        // When
+        publisher.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> publisher.publish(new TestDomainEvent()));
+    }
+
+    @Test
+    void shouldComputeExponentialBackoffDelays() {
+        // Given
+        RetryPolicy policy = RetryPolicy.exponentialBackoff(5, Duration.ofMillis(100), Duration.ofMillis(300));
+
+        // Then
+        assertEquals(Duration.ofMillis(100), policy.getDelay(1));
+        assertEquals(Duration.ofMillis(200), policy.getDelay(2));
+        assertEquals(Duration.ofMillis(300), policy.getDelay(3));
+        Duration jittered = policy.withJitter(0.5).getDelay(2);
+        assertTrue(jittered.compareTo(Duration.ofMillis(100)) >= 0 && jittered.compareTo(Duration.ofMillis(200)) <= 0);
+    }
+
+    private static ResilientDomainEventPublisher newPublisher(DomainEventPublisher delegate, DeadLetterStore deadLetters) {
+        return new ResilientDomainEventPublisher(delegate, FAST_RETRY, deadLetters, 1, 100, Runnable::run);
+    }
+
+    private static List<DomainEvent> events(int count) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new TestDomainEvent());
+        }
+        return events;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    // Helper classes for testing
+    private static class FlakyPublisher implements DomainEventPublisher {
+        private final List<List<DomainEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failures;
+
+        FlakyPublisher(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void publish(DomainEvent event) {
+            publishAll(Collections.singletonList(event));
+        }
+
+        @Override
+        public void publishAll(List<? extends DomainEvent> events) {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException("Broker unavailable");
+            }
+            batches.add(new ArrayList<>(events));
+        }
+
+        List<DomainEvent> published() {
+            List<DomainEvent> events = new ArrayList<>();
+            synchronized (batches) {
+                batches.forEach(events::addAll);
+            }
+            return events;
+        }
+    }
+
+    private interface UrgentDomainEvent extends DomainEvent {
+    }
+
+    private static class TestUrgentDomainEvent extends TestDomainEvent implements UrgentDomainEvent {
+    }
+
+    private static class TestDomainEvent implements DomainEvent {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+}
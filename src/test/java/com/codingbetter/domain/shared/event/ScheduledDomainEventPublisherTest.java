@@ -0,0 +1,333 @@
+package com.codingbetter.domain.shared.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledDomainEventPublisherTest {
+
+    @Test
+    void shouldPublishEventAfterDelay() throws InterruptedException {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(1);
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, new InMemoryStore())) {
+            DomainEvent event = new TestDomainEvent();
+            Instant scheduledAt = Instant.now();
+
+            // When
+            ScheduledEvent scheduled = publisher.publishAfter(event, Duration.ofMillis(50));
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(event), delegate.events());
+            assertFalse(Instant.now().isBefore(scheduledAt.plusMillis(50)));
+            assertTrue(scheduled.isDelivered());
+            assertEquals(0, publisher.getPendingCount());
+        }
+    }
+
+    @Test
+    void shouldPublishEventsDueTogetherAsOneBatch() throws InterruptedException {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(3);
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, new InMemoryStore())) {
+            Instant deliverAt = Instant.now().plusMillis(30);
+
+            // When
+            for (int i = 0; i < 3; i++) {
+                publisher.publishAt(new TestDomainEvent(), deliverAt);
+            }
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, delegate.batches.size());
+        }
+    }
+
+    @Test
+    void shouldNotPublishCancelledEvent() throws InterruptedException {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(1);
+        InMemoryStore store = new InMemoryStore();
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, store)) {
+            DomainEvent cancelled = new TestDomainEvent();
+            DomainEvent published = new TestDomainEvent();
+            ScheduledEvent scheduled = publisher.publishAfter(cancelled, Duration.ofMillis(20));
+
+            // When
+            assertTrue(scheduled.cancel());
+            publisher.publishAfter(published, Duration.ofMillis(60));
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(published), delegate.events());
+            assertTrue(scheduled.isCancelled());
+            assertFalse(scheduled.cancel());
+        }
+    }
+
+    @Test
+    void shouldReschedulePersistedEventsOnCreation() throws InterruptedException {
+        // Given
+        InMemoryStore store = new InMemoryStore();
+        DomainEvent event = new TestDomainEvent();
+        try (ScheduledDomainEventPublisher publisher = newPublisher(new RecordingPublisher(1), store)) {
+            publisher.publishAfter(event, Duration.ofMillis(100));
+        }
+        assertEquals(1, store.pending.size());
+
+        // When
+        RecordingPublisher delegate = new RecordingPublisher(1);
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, store)) {
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(event), delegate.events());
+        }
+    }
+
+    @Test
+    void shouldPublishImmediatelyThroughDelegate() {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(1);
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, new InMemoryStore())) {
+            DomainEvent event = new TestDomainEvent();
+
+            // When
+            publisher.publish(event);
+
+            // Then
+            assertEquals(Collections.singletonList(event), delegate.events());
+        }
+    }
+
+    @Test
+    void shouldHandBatchesToDelegateInOrderOneAtATime() throws InterruptedException {
+        // Given
+        SlowPublisher delegate = new SlowPublisher(20);
+        try (ScheduledDomainEventPublisher publisher = new ScheduledDomainEventPublisher(
+                delegate, Duration.ofMillis(1), new InMemoryStore(), Thread::startVirtualThread)) {
+            List<DomainEvent> events = new ArrayList<>();
+            Instant start = Instant.now();
+
+            // When
+            for (int i = 0; i < 20; i++) {
+                DomainEvent event = new TestDomainEvent();
+                events.add(event);
+                publisher.publishAt(event, start.plusMillis(20 + 3L * i));
+            }
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(events, delegate.events);
+            assertEquals(1, delegate.maxConcurrentCalls.get());
+        }
+    }
+
+    @Test
+    void shouldKeepFailedBatchInStoreAndPublishLaterEvents() throws InterruptedException {
+        // Given
+        InMemoryStore store = new InMemoryStore();
+        DomainEvent failing = new TestDomainEvent();
+        DomainEvent published = new TestDomainEvent();
+        RecordingPublisher recorder = new RecordingPublisher(1);
+        DomainEventPublisher delegate = new DomainEventPublisher() {
+            @Override
+            public void publish(DomainEvent event) {
+                publishAll(Collections.singletonList(event));
+            }
+
+            @Override
+            public void publishAll(List<? extends DomainEvent> events) {
+                if (events.contains(failing)) {
+                    throw new IllegalStateException("Broker unavailable");
+                }
+                recorder.publishAll(events);
+            }
+        };
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, store)) {
+
+            // When
+            ScheduledEvent scheduled = publisher.publishAfter(failing, Duration.ofMillis(10));
+            publisher.publishAfter(published, Duration.ofMillis(40));
+
+            // Then
+            assertTrue(recorder.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(published), recorder.events());
+            assertTrue(scheduled.isDelivered());
+            awaitUntil(() -> store.pending.size() == 1);
+            assertEquals(Collections.singleton(scheduled.getId()), store.pending.keySet());
+        }
+    }
+
+    @Test
+    void shouldKeepTimerAliveWhenDispatcherRejectsBatch() throws InterruptedException {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(2);
+        AtomicInteger submissions = new AtomicInteger();
+        Executor rejectingOnce = task -> {
+            if (submissions.incrementAndGet() == 1) {
+                throw new RejectedExecutionException("Dispatcher saturated");
+            }
+            task.run();
+        };
+        try (ScheduledDomainEventPublisher publisher = new ScheduledDomainEventPublisher(
+                delegate, Duration.ofMillis(1), new InMemoryStore(), rejectingOnce)) {
+            DomainEvent rejected = new TestDomainEvent();
+            DomainEvent next = new TestDomainEvent();
+
+            // When
+            publisher.publishAfter(rejected, Duration.ofMillis(10));
+            publisher.publishAfter(next, Duration.ofMillis(50));
+
+            // Then
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(rejected, next), delegate.events());
+        }
+    }
+
+    @Test
+    void shouldKeepOtherPublicationWhenSameEventScheduledTwiceIsCancelledOnce() throws InterruptedException {
+        // Given
+        RecordingPublisher delegate = new RecordingPublisher(1);
+        InMemoryStore store = new InMemoryStore();
+        try (ScheduledDomainEventPublisher publisher = newPublisher(delegate, store)) {
+            DomainEvent event = new TestDomainEvent();
+            ScheduledEvent cancelled = publisher.publishAfter(event, Duration.ofMillis(20));
+            ScheduledEvent kept = publisher.publishAfter(event, Duration.ofMillis(40));
+
+            // When
+            assertTrue(cancelled.cancel());
+
+            // Then
+            assertNotEquals(cancelled.getId(), kept.getId());
+            assertEquals(Collections.singleton(kept.getId()), store.pending.keySet());
+            assertTrue(delegate.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(event), delegate.events());
+            awaitUntil(() -> store.pending.isEmpty());
+        }
+    }
+
+    private static ScheduledDomainEventPublisher newPublisher(DomainEventPublisher delegate, ScheduledEventStore store) {
+        return new ScheduledDomainEventPublisher(delegate, Duration.ofMillis(1), store, Runnable::run);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    // Helper classes for testing
+    private static class RecordingPublisher implements DomainEventPublisher {
+        private final List<List<DomainEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch latch;
+
+        RecordingPublisher(int expectedEvents) {
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void publish(DomainEvent event) {
+            publishAll(Collections.singletonList(event));
+        }
+
+        @Override
+        public void publishAll(List<? extends DomainEvent> events) {
+            batches.add(new ArrayList<>(events));
+            events.forEach(event -> latch.countDown());
+        }
+
+        List<DomainEvent> events() {
+            List<DomainEvent> events = new ArrayList<>();
+            synchronized (batches) {
+                batches.forEach(events::addAll);
+            }
+            return events;
+        }
+    }
+
+    private static class SlowPublisher implements DomainEventPublisher {
+        private final List<DomainEvent> events = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        SlowPublisher(int expectedEvents) {
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void publish(DomainEvent event) {
+            publishAll(Collections.singletonList(event));
+        }
+
+        @Override
+        public void publishAll(List<? extends DomainEvent> batch) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.addAll(batch);
+            concurrentCalls.decrementAndGet();
+            batch.forEach(event -> latch.countDown());
+        }
+    }
+
+    private static class InMemoryStore implements ScheduledEventStore {
+        private final Map<UUID, Map.Entry<DomainEvent, Instant>> pending = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        @Override
+        public void save(UUID scheduleId, DomainEvent event, Instant deliverAt) {
+            pending.put(scheduleId, Map.entry(event, deliverAt));
+        }
+
+        @Override
+        public void removeAll(Collection<UUID> scheduleIds) {
+            scheduleIds.forEach(pending::remove);
+        }
+
+        @Override
+        public void forEachPending(PendingAction action) {
+            new LinkedHashMap<>(pending).forEach((scheduleId, entry) ->
+                    action.accept(scheduleId, entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static class TestDomainEvent implements DomainEvent {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+}
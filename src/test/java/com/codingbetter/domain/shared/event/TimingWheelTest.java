@@ -0,0 +1,109 @@
+package com.codingbetter.domain.shared.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private TimingWheel wheel;
+    private List<Long> expiredTicks;
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel(0);
+        expiredTicks = new ArrayList<>();
+    }
+
+    @Test
+    void shouldExpireTimersOnTheirDeadlineTick() {
+        // Given
+        for (long deadline : new long[] {1, 5, 63, 64, 65, 4095, 4096, 300_000}) {
+            assertTrue(wheel.add(timer(deadline)));
+        }
+
+        // When
+        advanceTo(300_000);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 5L, 63L, 64L, 65L, 4095L, 4096L, 300_000L), expiredTicks);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldExpireTimersAddedAfterTheWheelHasAdvanced() {
+        // Given
+        advanceTo(1000);
+        wheel.add(timer(1000 + 70));
+        wheel.add(timer(1000 + 5000));
+
+        // When
+        advanceTo(10_000);
+
+        // Then
+        assertEquals(Arrays.asList(1070L, 6000L), expiredTicks);
+    }
+
+    @Test
+    void shouldRejectTimersThatAreAlreadyDue() {
+        // Given
+        advanceTo(10);
+
+        // Then
+        assertFalse(wheel.add(timer(10)));
+        assertFalse(wheel.add(timer(3)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldNotExpireRemovedTimers() {
+        // Given
+        ScheduledEvent removed = timer(100_000);
+        wheel.add(timer(50));
+        wheel.add(removed);
+        wheel.add(timer(100_001));
+
+        // When
+        wheel.remove(removed);
+        advanceTo(200_000);
+
+        // Then
+        assertEquals(Arrays.asList(50L, 100_001L), expiredTicks);
+    }
+
+    private void advanceTo(long target) {
+        // Advance one tick at a time, recording the tick on which each timer expires
+        while (tick < target) {
+            tick++;
+            wheel.advance(tick, timer -> expiredTicks.add(tick));
+        }
+    }
+
+    private static ScheduledEvent timer(long deadlineTick) {
+        return new ScheduledEvent(null, UUID.randomUUID(), new TestDomainEvent(), Instant.now(), deadlineTick);
+    }
+
+    private static class TestDomainEvent implements DomainEvent {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+}
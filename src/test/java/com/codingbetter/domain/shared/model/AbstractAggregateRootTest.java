@@ -5,8 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,11 +65,98 @@ class AbstractAggregateRootTest {
         assertThrows(UnsupportedOperationException.class, () -> events.add(event));
     }
 
+    @Test
+    void shouldDrainDomainEvents() {
+        // Given
+        TestDomainEvent event1 = new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now());
+        TestDomainEvent event2 = new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now());
+        aggregateRoot.addDomainEvent(event1);
+        aggregateRoot.addDomainEvent(event2);
+
+        // When
+        List<DomainEvent> drained = aggregateRoot.drainDomainEvents();
+
+        // Then
+        assertEquals(List.of(event1, event2), drained);
+        assertTrue(aggregateRoot.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void shouldCollectEventsInOrderInConcurrentMode() {
+        // Given
+        ConcurrentAggregateRoot concurrentAggregateRoot = new ConcurrentAggregateRoot();
+        TestDomainEvent event1 = new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now());
+        TestDomainEvent event2 = new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now());
+
+        // When
+        concurrentAggregateRoot.addDomainEvent(event1);
+        concurrentAggregateRoot.addDomainEvent(event2);
+
+        // Then
+        List<DomainEvent> events = concurrentAggregateRoot.getDomainEvents();
+        assertEquals(List.of(event1, event2), events);
+        assertThrows(UnsupportedOperationException.class, () -> events.add(event1));
+        assertEquals(List.of(event1, event2), concurrentAggregateRoot.drainDomainEvents());
+        assertTrue(concurrentAggregateRoot.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void shouldNotLoseEventsAddedConcurrentlyWithDrain() throws InterruptedException {
+        // Given
+        ConcurrentAggregateRoot concurrentAggregateRoot = new ConcurrentAggregateRoot();
+        int threads = 4;
+        int eventsPerThread = 10_000;
+        List<List<TestDomainEvent>> added = new ArrayList<>();
+        List<Thread> producers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            List<TestDomainEvent> events = new ArrayList<>();
+            for (int j = 0; j < eventsPerThread; j++) {
+                events.add(new TestDomainEvent(UUID.randomUUID(), LocalDateTime.now()));
+            }
+            added.add(events);
+            producers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.forEach(concurrentAggregateRoot::addDomainEvent);
+            }));
+        }
+
+        // When
+        producers.forEach(Thread::start);
+        start.countDown();
+        List<DomainEvent> drained = new ArrayList<>();
+        while (producers.stream().anyMatch(Thread::isAlive)) {
+            drained.addAll(concurrentAggregateRoot.drainDomainEvents());
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        drained.addAll(concurrentAggregateRoot.drainDomainEvents());
+
+        // Then
+        assertEquals(threads * eventsPerThread, drained.size());
+        for (List<TestDomainEvent> events : added) {
+            List<DomainEvent> drainedFromThread = new ArrayList<>(drained);
+            drainedFromThread.retainAll(new HashSet<>(events));
+            assertEquals(events, drainedFromThread, "Events added by the same thread should keep their order");
+        }
+    }
+
     // Helper classes for testing
     private static class TestAggregateRoot extends AbstractAggregateRoot {
         // Empty implementation for testing
     }
 
+    private static class ConcurrentAggregateRoot extends AbstractAggregateRoot {
+        ConcurrentAggregateRoot() {
+            super(true);
+        }
+    }
+
     private static class TestDomainEvent implements DomainEvent {
         private final UUID id;
         private final LocalDateTime occurredOn;
@@ -0,0 +1,121 @@
+package com.codingbetter.domain.shared.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the PageJsonWriter class.
+ */
+class PageJsonWriterTest {
+
+    @Test
+    void testWriteEnvelopeAndContent() throws IOException {
+        // Arrange
+        Page<String> page = PageUtils.of(Arrays.asList("a", "b", "c"), 7, 1, 3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        PageJsonWriter.write(page, PageJsonWriter::writeString, output);
+
+        // Assert
+        assertEquals("{\"number\":1,\"size\":3,\"totalElements\":7,\"totalPages\":3,\"content\":[\"a\",\"b\",\"c\"]}",
+                output.toString(StandardCharsets.UTF_8), "The page should be written as JSON");
+    }
+
+    @Test
+    void testWriteEmptyPage() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        PageJsonWriter.write(PageUtils.<String>empty(), PageJsonWriter::writeString, output);
+
+        // Assert
+        assertEquals("{\"number\":0,\"size\":0,\"totalElements\":0,\"totalPages\":1,\"content\":[]}",
+                output.toString(StandardCharsets.UTF_8), "The empty page should have an empty content array");
+    }
+
+    @Test
+    void testConvertElementsLazilyWhileWriting() throws IOException {
+        // Arrange
+        Page<Integer> page = PageUtils.of(Arrays.asList(1, 2, 3), 3, 0, 3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        // Act
+        PageJsonWriter.<Integer, String>write(page, number -> {
+            events.add("convert " + number);
+            return "item-" + number;
+        }, (dto, out) -> {
+            events.add("encode " + dto);
+            PageJsonWriter.writeString(dto, out);
+        }, output);
+
+        // Assert
+        assertEquals(Arrays.asList("convert 1", "encode item-1", "convert 2", "encode item-2", "convert 3", "encode item-3"),
+                events, "Each element should be encoded right after it is converted");
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("\"content\":[\"item-1\",\"item-2\",\"item-3\"]}"),
+                "The converted elements should be written");
+    }
+
+    @Test
+    void testWriteToByteBuffer() {
+        // Arrange
+        Page<Integer> page = PageUtils.of(Arrays.asList(10, 20), 2, 0, 2);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        // Act
+        PageJsonWriter.write(page, (number, out) -> out.write(number.toString().getBytes(StandardCharsets.US_ASCII)), buffer);
+
+        // Assert
+        buffer.flip();
+        assertEquals("{\"number\":0,\"size\":2,\"totalElements\":2,\"totalPages\":1,\"content\":[10,20]}",
+                StandardCharsets.UTF_8.decode(buffer).toString(), "The page should be written into the buffer");
+    }
+
+    @Test
+    void testWriteToByteBufferTooSmall() {
+        // Arrange
+        Page<String> page = PageUtils.of(Arrays.asList("a", "b"), 2, 0, 2);
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        // Act & Assert
+        assertThrows(BufferOverflowException.class, () -> PageJsonWriter.write(page, PageJsonWriter::writeString, buffer),
+                "Writing beyond the buffer capacity should fail");
+    }
+
+    @Test
+    void testWriteStringEscaping() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        PageJsonWriter.writeString("q\"b\\n\n\u0001é€😀", output);
+
+        // Assert
+        assertEquals("\"q\\\"b\\\\n\\n\\u0001é€😀\"", output.toString(StandardCharsets.UTF_8),
+                "Special characters should be escaped and the rest encoded in UTF-8");
+    }
+
+    @Test
+    void testWriteNullString() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        PageJsonWriter.writeString(null, output);
+
+        // Assert
+        assertEquals("null", output.toString(StandardCharsets.UTF_8), "A null value should be written as JSON null");
+    }
+}
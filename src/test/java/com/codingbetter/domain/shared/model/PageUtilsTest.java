@@ -2,10 +2,18 @@ package com.codingbetter.domain.shared.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -153,4 +161,326 @@ class PageUtilsTest {
         assertEquals(2, page.getSize(), "The page size should be 2");
         assertEquals(2, page.getTotalPages(), "The total pages should be 2");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testPaginateSortedFirstPage() {
+        // Arrange
+        List<Integer> list = shuffledRange(100);
+        
+        // Act
+        Page<Integer> page = PageUtils.paginate(list, Comparator.naturalOrder(), 0, 5);
+        
+        // Assert
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), page.getContent(), "The page should contain the smallest items in order");
+        assertEquals(100, page.getTotalElements(), "The total elements should be 100");
+        assertEquals(0, page.getNumber(), "The page number should be 0");
+        assertEquals(5, page.getSize(), "The page size should be 5");
+    }
+    
+    @Test
+    void testPaginateSortedDeepPage() {
+        // Arrange
+        List<Integer> list = shuffledRange(100);
+        
+        // Act
+        Page<Integer> page = PageUtils.paginate(list, Comparator.reverseOrder(), 9, 10);
+        
+        // Assert
+        assertEquals(Arrays.asList(9, 8, 7, 6, 5, 4, 3, 2, 1, 0), page.getContent(), "The page should contain the last items in order");
+        assertTrue(page.isLast(), "The page should be the last");
+    }
+    
+    @Test
+    void testPaginateSortedDoesNotModifyList() {
+        // Arrange
+        List<Integer> list = shuffledRange(50);
+        List<Integer> original = List.copyOf(list);
+        
+        // Act
+        PageUtils.paginate(list, Comparator.naturalOrder(), 0, 3);
+        PageUtils.paginate(list, Comparator.naturalOrder(), 4, 10);
+        
+        // Assert
+        assertEquals(original, list, "The original list should not be modified");
+    }
+    
+    @Test
+    void testPaginateSortedLargeList() {
+        // Arrange
+        List<Integer> list = shuffledRange(PageUtils.PARALLEL_THRESHOLD * 2);
+        
+        // Act
+        Page<Integer> page = PageUtils.paginate(list, Comparator.naturalOrder(), 3, 4);
+        
+        // Assert
+        assertEquals(Arrays.asList(12, 13, 14, 15), page.getContent(), "The page should contain the correct items");
+        assertEquals(list.size(), page.getTotalElements(), "The total elements should match the list size");
+    }
+    
+    @Test
+    void testPaginateSortedWithInvalidPageSize() {
+        // Act
+        Page<String> page = PageUtils.paginate(Arrays.asList("c", "a", "b"), Comparator.naturalOrder(), 0, 0);
+        
+        // Assert
+        assertEquals(Arrays.asList("a", "b", "c"), page.getContent(), "The page content should contain all items sorted");
+        assertEquals(3, page.getSize(), "The page size should be equal to the list size");
+    }
+    
+    @Test
+    void testPaginateSortedWithPageOutOfRange() {
+        // Act
+        Page<String> page = PageUtils.paginate(Arrays.asList("c", "a", "b"), Comparator.naturalOrder(), 2, 2);
+        
+        // Assert
+        assertTrue(page.getContent().isEmpty(), "The page content should be empty");
+        assertEquals(3, page.getTotalElements(), "The total elements should be 3");
+    }
+    
+    @Test
+    void testPaginateSortedWithNegativePageNumber() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> PageUtils.paginate(Arrays.asList("a"), Comparator.naturalOrder(), -1, 2));
+    }
+    
+    @Test
+    void testCollectSortedPage() {
+        // Arrange
+        List<Integer> list = shuffledRange(1000);
+        
+        // Act
+        Page<Integer> sequential = list.stream().collect(PageUtils.toPage(Comparator.naturalOrder(), 2, 3));
+        Page<Integer> parallel = list.parallelStream().collect(PageUtils.toPage(Comparator.naturalOrder(), 2, 3));
+        
+        // Assert
+        assertEquals(Arrays.asList(6, 7, 8), sequential.getContent(), "The page should contain the correct items");
+        assertEquals(1000, sequential.getTotalElements(), "The total elements should be counted");
+        assertEquals(sequential.getContent(), parallel.getContent(), "Parallel collection should produce the same page");
+        assertEquals(1000, parallel.getTotalElements(), "The total elements should be counted in parallel");
+    }
+    
+    @Test
+    void testPaginateSortedWithTiesSplitsTheSortedList() {
+        // Arrange
+        List<String> list = tiedKeys(1000);
+        Comparator<String> byKey = Comparator.comparing(item -> item.charAt(0));
+        List<String> expected = new ArrayList<>(list);
+        expected.sort(byKey);
+
+        // Act
+        List<String> walked = new ArrayList<>();
+        for (int pageNumber = 0; pageNumber < 100; pageNumber++) {
+            walked.addAll(PageUtils.paginate(list, byKey, pageNumber, 10).getContent());
+        }
+
+        // Assert
+        assertEquals(expected, walked, "Consecutive pages should match a stable sort, without repeated or missing items");
+    }
+
+    @Test
+    void testCollectSortedPageWithTiesMatchesStableSort() {
+        // Arrange
+        List<String> list = tiedKeys(100_000);
+        Comparator<String> byKey = Comparator.comparing(item -> item.charAt(0));
+        List<String> expected = new ArrayList<>(list);
+        expected.sort(byKey);
+
+        for (int pageNumber = 0; pageNumber < 5; pageNumber++) {
+            // Act
+            Page<String> sequential = list.stream().collect(PageUtils.toPage(byKey, pageNumber, 10));
+            Page<String> parallel = list.parallelStream().collect(PageUtils.toPage(byKey, pageNumber, 10));
+            Page<String> paginated = PageUtils.paginate(list, byKey, pageNumber, 10);
+
+            // Assert
+            List<String> expectedPage = expected.subList(pageNumber * 10, pageNumber * 10 + 10);
+            assertEquals(expectedPage, sequential.getContent(), "The collected page should match a stable sort");
+            assertEquals(expectedPage, parallel.getContent(), "The parallel collected page should match a stable sort");
+            assertEquals(expectedPage, paginated.getContent(), "The paginated page should match a stable sort");
+        }
+    }
+
+    @Test
+    void testPaginateSortedWithNullElements() {
+        // Arrange
+        List<Integer> list = new ArrayList<>(shuffledRange(16));
+        list.add(3, null);
+        Comparator<Integer> nullsFirst = Comparator.nullsFirst(Comparator.naturalOrder());
+
+        // Act
+        Page<Integer> first = PageUtils.paginate(list, nullsFirst, 0, 2);
+        Page<Integer> last = PageUtils.paginate(list, nullsFirst, 8, 2);
+        Page<Integer> collected = list.stream().collect(PageUtils.toPage(nullsFirst, 0, 2));
+
+        // Assert
+        assertEquals(Arrays.asList(null, 0), first.getContent(), "The heap selection should accept null elements");
+        assertEquals(Arrays.asList(15), last.getContent(), "The full sort should accept null elements");
+        assertEquals(first.getContent(), collected.getContent(), "The collector should accept null elements");
+    }
+
+    @Test
+    void testCollectSortedPageFromEmptyStream() {
+        // Act
+        Page<Integer> page = IntStream.range(0, 0).boxed().collect(PageUtils.toPage(Comparator.naturalOrder(), 0, 10));
+        
+        // Assert
+        assertTrue(page.getContent().isEmpty(), "The page content should be empty");
+        assertEquals(0, page.getTotalElements(), "The total elements should be 0");
+    }
+
+    @Test
+    void testCollectSortedPageWithLastPageNumber() {
+        // Act
+        Page<Integer> page = IntStream.range(0, 5).boxed()
+                .collect(PageUtils.toPage(Comparator.naturalOrder(), Integer.MAX_VALUE, 10));
+
+        // Assert
+        assertTrue(page.getContent().isEmpty(), "The page content should be empty");
+        assertEquals(5, page.getTotalElements(), "The total elements should be counted");
+        assertEquals(Integer.MAX_VALUE, page.getNumber(), "The page number should be preserved");
+    }
+
+    @Test
+    void testMergeShardPages() {
+        // Arrange
+        List<PageQuery<Integer>> shards = Arrays.asList(
+                shard(Arrays.asList(0, 3, 6, 9, 12)),
+                shard(Arrays.asList(1, 4, 7, 10)),
+                shard(Arrays.asList(2, 5, 8, 11)));
+        
+        // Act
+        Page<Integer> page = PageUtils.merge(shards, Comparator.naturalOrder(), 1, 4);
+        
+        // Assert
+        assertEquals(Arrays.asList(4, 5, 6, 7), page.getContent(), "The page should contain the globally ordered items");
+        assertEquals(13, page.getTotalElements(), "The total elements should be the sum of the shard totals");
+        assertEquals(1, page.getNumber(), "The page number should be 1");
+        assertEquals(4, page.getSize(), "The page size should be 4");
+        assertEquals(4, page.getTotalPages(), "The total pages should be 4");
+    }
+    
+    @Test
+    void testMergeFetchesOnlyTheRequiredWindow() {
+        // Arrange
+        List<Integer> requestedSizes = Collections.synchronizedList(new ArrayList<>());
+        PageQuery<Integer> shard = (pageNumber, pageSize) -> {
+            requestedSizes.add(pageSize);
+            return PageUtils.paginate(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8), pageNumber, pageSize);
+        };
+        
+        // Act
+        PageUtils.merge(Arrays.asList(shard, shard), Comparator.naturalOrder(), 1, 3);
+        
+        // Assert
+        assertEquals(Arrays.asList(6, 6), requestedSizes, "Each shard should be asked for (page + 1) * size items");
+    }
+    
+    @Test
+    void testMergeWithPageOutOfRange() {
+        // Act
+        Page<Integer> page = PageUtils.merge(Arrays.asList(shard(Arrays.asList(1, 2)), shard(Arrays.asList(3))),
+                Comparator.naturalOrder(), 5, 2);
+        
+        // Assert
+        assertTrue(page.getContent().isEmpty(), "The page content should be empty");
+        assertEquals(3, page.getTotalElements(), "The total elements should be 3");
+    }
+    
+    @Test
+    void testMergeWithLastPageNumber() {
+        // Arrange
+        List<Integer> requestedSizes = Collections.synchronizedList(new ArrayList<>());
+        PageQuery<Integer> shard = (pageNumber, pageSize) -> {
+            requestedSizes.add(pageSize);
+            return PageUtils.paginate(Arrays.asList(1, 2), pageNumber, pageSize);
+        };
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> PageUtils.merge(Arrays.asList(shard, shard), Comparator.naturalOrder(), Integer.MAX_VALUE, 10),
+                "A page too deep to be merged should be rejected");
+        assertTrue(requestedSizes.isEmpty(), "No shard should be queried");
+    }
+
+    @Test
+    void testMergeWithNoShards() {
+        // Act
+        Page<Integer> page = PageUtils.merge(Collections.<PageQuery<Integer>>emptyList(), Comparator.naturalOrder(), 0, 10);
+        
+        // Assert
+        assertTrue(page.getContent().isEmpty(), "The page content should be empty");
+        assertEquals(0, page.getTotalElements(), "The total elements should be 0");
+    }
+    
+    @Test
+    void testMergePropagatesShardFailure() {
+        // Arrange
+        PageQuery<Integer> failing = (pageNumber, pageSize) -> {
+            throw new IllegalStateException("Shard unavailable");
+        };
+        
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> PageUtils.merge(Arrays.asList(shard(Arrays.asList(1)), failing), Comparator.naturalOrder(), 0, 10));
+        assertEquals("Shard unavailable", exception.getMessage(), "The shard failure should be propagated");
+    }
+
+    @Test
+    void testMergeRejectsShardWithCappedPageSize() {
+        // Arrange
+        PageQuery<Integer> capped = (pageNumber, pageSize) ->
+                PageUtils.paginate(Arrays.asList(1, 3, 5, 7, 9, 11), pageNumber, Math.min(pageSize, 2));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> PageUtils.merge(Arrays.asList(capped, shard(Arrays.asList(2, 4, 6, 8))), Comparator.naturalOrder(), 0, 4),
+                "A shard returning fewer elements than requested should be rejected");
+        assertTrue(exception.getMessage().contains("2 of the 4"), "The message should report the missing elements");
+    }
+
+    @Test
+    void testMergeCancelsSlowShardsOnFirstFailure() throws InterruptedException {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PageQuery<Integer> slow = (pageNumber, pageSize) -> {
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return PageUtils.empty();
+        };
+        PageQuery<Integer> failing = (pageNumber, pageSize) -> {
+            throw new IllegalStateException("Shard unavailable");
+        };
+        long start = System.nanoTime();
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> PageUtils.merge(Arrays.asList(slow, failing), Comparator.naturalOrder(), 0, 10));
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0,
+                "The failure should not wait for the slow shard");
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The slow shard should be cancelled");
+    }
+
+    private static PageQuery<Integer> shard(List<Integer> sortedItems) {
+        return (pageNumber, pageSize) -> PageUtils.paginate(sortedItems, pageNumber, pageSize);
+    }
+    
+    private static List<String> tiedKeys(int size) {
+        List<String> list = new ArrayList<>(size);
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            list.add((char) ('a' + random.nextInt(5)) + "-" + i);
+        }
+        return list;
+    }
+
+    private static List<Integer> shuffledRange(int size) {
+        List<Integer> list = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        Collections.shuffle(list, new Random(42));
+        return list;
+    }
+}
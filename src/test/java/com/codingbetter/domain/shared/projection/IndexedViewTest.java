@@ -0,0 +1,162 @@
+package com.codingbetter.domain.shared.projection;
+
+import com.codingbetter.domain.shared.model.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedViewTest {
+
+    private IndexedView<String, Product> view;
+
+    @BeforeEach
+    void setUp() {
+        view = new IndexedView<>();
+        view.addHashIndex("category", Product::getCategory);
+        view.addSortedIndex("price", Product::getPrice);
+        view.put("p1", new Product("p1", "books", 30));
+        view.put("p2", new Product("p2", "games", 10));
+        view.put("p3", new Product("p3", "books", 20));
+        view.put("p4", new Product("p4", "books", 40));
+        view.put("p5", new Product("p5", "games", 50));
+    }
+
+    @Test
+    void shouldFindRowsByHashIndex() {
+        // When
+        Page<Product> page = view.findBy("category", "books", 0, 2);
+
+        // Then
+        assertEquals(2, page.getContent().size());
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(product -> product.getCategory().equals("books")));
+    }
+
+    @Test
+    void shouldPageRowsOrderedBySortedIndex() {
+        // When
+        Page<Product> first = view.findAllOrderedBy("price", false, 0, 2);
+        Page<Product> second = view.findAllOrderedBy("price", false, 1, 2);
+        Page<Product> descending = view.findAllOrderedBy("price", true, 0, 2);
+
+        // Then
+        assertEquals(Arrays.asList("p2", "p3"), ids(first));
+        assertEquals(Arrays.asList("p1", "p4"), ids(second));
+        assertEquals(Arrays.asList("p5", "p4"), ids(descending));
+        assertEquals(5, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+    }
+
+    @Test
+    void shouldFindRowsInRange() {
+        // When
+        Page<Product> page = view.findRange("price", 20, 50, 0, 10);
+        Page<Product> unbounded = view.findRange("price", 35, null, 0, 1);
+
+        // Then
+        assertEquals(Arrays.asList("p3", "p1", "p4"), ids(page));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(Arrays.asList("p4"), ids(unbounded));
+        assertEquals(2, unbounded.getTotalElements());
+    }
+
+    @Test
+    void shouldUpdateIndexesWhenRowChanges() {
+        // When
+        view.compute("p2", product -> new Product("p2", "books", 60));
+        view.remove("p1");
+
+        // Then
+        assertEquals(3, view.findBy("category", "books", 0, 10).getTotalElements());
+        assertEquals(1, view.findBy("category", "games", 0, 10).getTotalElements());
+        assertEquals(Arrays.asList("p3", "p4", "p5", "p2"), ids(view.findAllOrderedBy("price", false, 0, 10)));
+    }
+
+    @Test
+    void shouldRebuildIndexesOnRestore() {
+        // Given
+        Map<String, Product> snapshot = view.snapshot();
+        IndexedView<String, Product> restored = new IndexedView<>();
+        restored.addSortedIndex("price", Product::getPrice);
+
+        // When
+        restored.restore(snapshot);
+
+        // Then
+        assertEquals(5, restored.size());
+        assertEquals(Arrays.asList("p2", "p3"), ids(restored.findAllOrderedBy("price", false, 0, 2)));
+    }
+
+    @Test
+    void shouldCompareSortedIndexValuesWithTheirOrdering() {
+        // Given
+        IndexedView<String, BigDecimal> totals = new IndexedView<>();
+        totals.addSortedIndex("total", total -> total);
+        totals.put("o1", new BigDecimal("30"));
+        totals.put("o2", new BigDecimal("30.00"));
+        totals.put("o3", new BigDecimal("10"));
+
+        // When
+        Page<BigDecimal> ordered = totals.findAllOrderedBy("total", false, 0, 10);
+        Page<BigDecimal> range = totals.findRange("total", new BigDecimal("20"), null, 0, 10);
+
+        // Then
+        assertEquals(3, ordered.getContent().size());
+        assertEquals(3, ordered.getTotalElements());
+        assertEquals(2, range.getContent().size());
+        assertEquals(2, range.getTotalElements());
+
+        // When
+        totals.put("o1", new BigDecimal("30.0"));
+
+        // Then
+        assertEquals(Arrays.asList(new BigDecimal("30.0"), new BigDecimal("30.00")),
+                totals.findBy("total", new BigDecimal("30"), 0, 10).getContent().stream()
+                        .sorted(Comparator.comparing(BigDecimal::scale)).collect(Collectors.toList()));
+        assertEquals(3, totals.findAllOrderedBy("total", false, 0, 10).getContent().size());
+    }
+
+    @Test
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> view.findBy("unknown", "books", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> view.findAllOrderedBy("category", false, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> view.findAll(0, 0));
+    }
+
+    private static List<String> ids(Page<Product> page) {
+        return page.getContent().stream().map(Product::getId).collect(Collectors.toList());
+    }
+
+    // Helper class for testing
+    private static class Product {
+        private final String id;
+        private final String category;
+        private final Integer price;
+
+        Product(String id, String category, Integer price) {
+            this.id = id;
+            this.category = category;
+            this.price = price;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getCategory() {
+            return category;
+        }
+
+        Integer getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.codingbetter.domain.shared.projection;
+
+import com.codingbetter.domain.shared.event.DomainEvent;
+import com.codingbetter.domain.shared.model.Page;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionEngineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldFoldDeclaredEventsIntoProjection() {
+        // Given
+        ProjectionEngine engine = new ProjectionEngine(new FileProjectionCheckpointStore(directory));
+        OrderSummaryProjection projection = new OrderSummaryProjection();
+        engine.register(projection);
+
+        // When
+        engine.publish(new OrderPlacedEvent("o1", "alice", new BigDecimal("30")));
+        engine.publish(new OrderPlacedEvent("o2", "bob", new BigDecimal("10")));
+        engine.publish(new OrderPlacedEvent("o3", "alice", new BigDecimal("20")));
+        engine.publish(new OrderCancelledEvent("o2"));
+        engine.publish(new UnrelatedEvent());
+
+        // Then
+        Page<OrderSummary> aliceOrders = projection.getView().findBy("customer", "alice", 0, 10);
+        assertEquals(2, aliceOrders.getTotalElements());
+        Page<OrderSummary> byTotal = projection.getView().findAllOrderedBy("total", true, 0, 1);
+        assertEquals("o1", byTotal.getContent().get(0).getOrderId());
+        assertEquals(2, byTotal.getTotalPages());
+        assertNull(projection.getView().get("o2"));
+    }
+
+    @Test
+    void shouldRestoreCheckpointWithLastEventId() {
+        // Given
+        FileProjectionCheckpointStore store = new FileProjectionCheckpointStore(directory);
+        ProjectionEngine engine = new ProjectionEngine(store);
+        engine.register(new OrderSummaryProjection());
+        OrderPlacedEvent lastEvent = new OrderPlacedEvent("o1", "alice", new BigDecimal("30"));
+        engine.publish(lastEvent);
+
+        // When
+        engine.checkpoint();
+        ProjectionEngine restartedEngine = new ProjectionEngine(store);
+        OrderSummaryProjection restored = new OrderSummaryProjection();
+        restartedEngine.register(restored);
+
+        // Then
+        assertEquals(Optional.of(lastEvent.getId()), restartedEngine.getLastEventId("order-summaries"));
+        assertEquals(1, restored.getView().findBy("customer", "alice", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void shouldRejectDuplicateProjectionNames() {
+        // Given
+        ProjectionEngine engine = new ProjectionEngine(new FileProjectionCheckpointStore(directory));
+        engine.register(new OrderSummaryProjection());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> engine.register(new OrderSummaryProjection()));
+    }
+
+    // Helper classes for testing
+    private static class OrderSummaryProjection extends AbstractProjection<String, OrderSummary> {
+
+        OrderSummaryProjection() {
+            super("order-summaries", Set.of(OrderPlacedEvent.class, OrderCancelledEvent.class));
+            getView().addHashIndex("customer", OrderSummary::getCustomer);
+            getView().addSortedIndex("total", OrderSummary::getTotal);
+        }
+
+        @Override
+        public void apply(DomainEvent event) {
+            if (event instanceof OrderPlacedEvent placed) {
+                getView().put(placed.orderId, new OrderSummary(placed.orderId, placed.customer, placed.total));
+            } else if (event instanceof OrderCancelledEvent cancelled) {
+                getView().remove(cancelled.orderId);
+            }
+        }
+    }
+
+    private static class OrderSummary implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String orderId;
+        private final String customer;
+        private final BigDecimal total;
+
+        OrderSummary(String orderId, String customer, BigDecimal total) {
+            this.orderId = orderId;
+            this.customer = customer;
+            this.total = total;
+        }
+
+        String getOrderId() {
+            return orderId;
+        }
+
+        String getCustomer() {
+            return customer;
+        }
+
+        BigDecimal getTotal() {
+            return total;
+        }
+    }
+
+    private abstract static class TestDomainEvent implements DomainEvent {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime occurredOn = LocalDateTime.now();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return occurredOn;
+        }
+    }
+
+    private static class OrderPlacedEvent extends TestDomainEvent {
+        private final String orderId;
+        private final String customer;
+        private final BigDecimal total;
+
+        OrderPlacedEvent(String orderId, String customer, BigDecimal total) {
+            this.orderId = orderId;
+            this.customer = customer;
+            this.total = total;
+        }
+    }
+
+    private static class OrderCancelledEvent extends TestDomainEvent {
+        private final String orderId;
+
+        OrderCancelledEvent(String orderId) {
+            this.orderId = orderId;
+        }
+    }
+
+    private static class UnrelatedEvent extends TestDomainEvent {
+    }
+}